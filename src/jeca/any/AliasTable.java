@@ -0,0 +1,149 @@
+package jeca.any;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * 가중치가 있는 항목들 중 하나를 O(1)에 뽑기 위한 별칭 테이블 (Walker/Vose alias method).
+ * 
+ * <p>
+ * 생성 시 O(n)으로 테이블을 한 번 만들어 두면, 이후에는 뽑을 때마다 
+ * 난수 두 개와 배열 조회 두 번만으로 인덱스를 반환한다. 
+ * 뽑는 도중에는 객체를 생성하지 않는다. 생성 후에는 상태가 바뀌지 않으므로 
+ * 여러 스레드가 함께 사용해도 된다. (난수 생성기는 스레드마다 따로 넘길 것)
+ * </p>
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * AliasTable table = new AliasTable(new double[] {5, 3, 2});
+ * int picked = table.next(); // 0일 확률 50%, 1일 확률 30%, 2일 확률 20%
+ * </code>
+ * </pre>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public final class AliasTable {
+	private final double[] prob;
+	private final int[] alias;
+	
+	/**
+	 * 주어진 가중치로 별칭 테이블을 만든다. 
+	 * @param weights - 각 인덱스의 가중치. 음수가 아니고 유한해야 하며, 합이 0보다 커야 한다.
+	 * 가중치의 합이 1일 필요는 없다.
+	 * @throws IllegalArgumentException 가중치가 올바르지 않은 경우.
+	 */
+	public AliasTable(double[] weights) {
+		int n = weights.length;
+		if (n == 0) {
+			throw new IllegalArgumentException("가중치 배열이 비어 있습니다.");
+		}
+		
+		double sum = 0;
+		for (double w : weights) {
+			if (!(w >= 0) || Double.isInfinite(w)) {
+				throw new IllegalArgumentException("잘못된 가중치: " + w);
+			}
+			sum += w;
+		}
+		if (!(sum > 0) || Double.isInfinite(sum)) {
+			throw new IllegalArgumentException("가중치의 합이 올바르지 않습니다: " + sum);
+		}
+		
+		prob = new double[n];
+		alias = new int[n];
+		double[] scaled = new double[n];
+		// 하나의 배열 앞쪽은 small 스택, 뒤쪽은 large 스택으로 사용한다.
+		int[] work = new int[n];
+		int smallTop = 0;
+		int largeTop = n;
+		
+		for (int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / sum;
+			if (scaled[i] < 1.0) {
+				work[smallTop++] = i;
+			} else {
+				work[--largeTop] = i;
+			}
+		}
+		
+		while (smallTop > 0 && largeTop < n) {
+			int less = work[--smallTop];
+			int more = work[largeTop++];
+			prob[less] = scaled[less];
+			alias[less] = more;
+			scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+			if (scaled[more] < 1.0) {
+				work[smallTop++] = more;
+			} else {
+				work[--largeTop] = more;
+			}
+		}
+		// 남은 항목은 부동소수점 오차를 제외하면 모두 확률 1이다.
+		while (largeTop < n) {
+			int i = work[largeTop++];
+			prob[i] = 1.0;
+			alias[i] = i;
+		}
+		while (smallTop > 0) {
+			int i = work[--smallTop];
+			prob[i] = 1.0;
+			alias[i] = i;
+		}
+	}
+	
+	/**
+	 * 테이블에 등록된 항목의 개수를 반환.
+	 * @return int
+	 */
+	public int size() {
+		return prob.length;
+	}
+	
+	/**
+	 * {@link CustomRandom}의 기본 난수 생성기로 가중치에 비례하여 인덱스 하나를 뽑는다.
+	 * @return 0 이상 {@link #size()} 미만의 인덱스.
+	 */
+	public int next() {
+		return next(CustomRandom.getDefaultSource().current());
+	}
+	
+	/**
+	 * 주어진 난수 생성기로 가중치에 비례하여 인덱스 하나를 뽑는다.
+	 * @param rng - 사용할 난수 생성기.
+	 * @return 0 이상 {@link #size()} 미만의 인덱스.
+	 */
+	public int next(RandomGenerator rng) {
+		int i = rng.nextInt(prob.length);
+		return rng.nextDouble() < prob[i] ? i : alias[i];
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 가중치에 비례하여 뽑은 인덱스들로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public void fill(int[] dst, int from, int to, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, dst.length);
+		int n = prob.length;
+		for (int k = from; k < to; k++) {
+			int i = rng.nextInt(n);
+			dst[k] = rng.nextDouble() < prob[i] ? i : alias[i];
+		}
+	}
+	
+}
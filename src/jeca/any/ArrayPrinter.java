@@ -0,0 +1,1090 @@
+package jeca.any;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.Objects;
+import jeca.console.ConsoleSink;
+
+/**
+ * 배열의 내용을 하나의 재사용 버퍼에 모아 큰 덩어리 단위로 출력하는 클래스. 
+ * {@link PrintArrayTool}과 {@link PrintArrayToolStatic}이 내부적으로 사용한다.
+ *
+ * <p>
+ * 원소마다 System.out.println()을 호출하면 호출할 때마다 PrintStream의 잠금을 잡고 
+ * 자동 flush까지 일어나므로 큰 배열을 출력하는 데 오래 걸린다. 
+ * 이 클래스는 출력 내용을 고정 크기 문자 버퍼에 채우다가 버퍼가 가득 찼을 때와 
+ * 배열 하나를 다 출력했을 때(자동 flush 설정 시)에만 출력 대상에 쓴다. 
+ * 출력 대상은 Appendable(PrintStream, StringBuilder, Writer 등), OutputStream, 
+ * WritableByteChannel 중 하나이며, 바이트 대상에는 재사용하는 인코더로 인코딩하여 쓴다.
+ * </p>
+ *
+ * <p>
+ * 출력 형식은 PrintArrayTool과 같다. 이 클래스는 스레드 안전하지 않다. 
+ * 출력 도중 발생한 입출력 예외는 {@link UncheckedIOException}으로 전달된다.
+ * </p>
+ *
+ * <p>
+ * {@link #setOptions(PrintOptions)}로 큰 배열을 앞뒤 몇 개 원소와 "..."로 요약하거나 
+ * 정해진 너비에서 줄을 바꾸게 할 수 있다. 요약할 때는 출력되는 원소만 읽으므로 
+ * 배열이 아무리 커도 출력 비용은 일정하다. 2차원, 3차원 배열은 열을 맞추어 출력한다.
+ * </p>
+ *
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * try (FileChannel channel = FileChannel.open(path, CREATE, WRITE)) {
+ *     ArrayPrinter printer = new ArrayPrinter(channel, StandardCharsets.UTF_8);
+ *     printer.printArray(bigArray);
+ *     printer.flush();
+ * }
+ * </code>
+ * </pre>
+ *
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ *
+ * @author JeroCaller
+ */
+public class ArrayPrinter implements Flushable {
+	/**
+	 * 기본 버퍼 크기. (문자 수)
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/** 부호를 포함한 long 값의 최대 글자 수. */
+	private static final int MAX_NUMBER_CHARS = 20;
+
+	private static final char[] DIGIT_TENS = new char[100];
+	private static final char[] DIGIT_ONES = new char[100];
+
+	static {
+		for (int i = 0; i < 100; i++) {
+			DIGIT_TENS[i] = (char) ('0' + i / 10);
+			DIGIT_ONES[i] = (char) ('0' + i % 10);
+		}
+	}
+
+	private static final ThreadLocal<ArrayPrinter> STDOUT = ThreadLocal.withInitial(ArrayPrinter::new);
+
+	/**
+	 * 버퍼를 내보낼 대상.
+	 */
+	private interface Sink {
+		void write(char[] chars, int length) throws IOException;
+
+		void flush() throws IOException;
+	}
+
+	private final Sink sink;
+	private final char[] buf;
+	private int pos = 0;
+	private boolean autoFlush;
+	private final StringBuilder scratch = new StringBuilder(32);
+	private PrintOptions options = PrintOptions.FULL;
+
+	/**
+	 * 1차원 배열의 index번째 원소를 sb에 덧붙인다.
+	 */
+	private interface ElementFormatter {
+		void format(StringBuilder sb, int index);
+	}
+
+	/**
+	 * 2차원 이상 배열에서 한 행(row)의 col번째 원소를 sb에 덧붙인다.
+	 */
+	private interface CellFormatter {
+		void format(StringBuilder sb, Object row, int col);
+	}
+
+	/**
+	 * 현재의 System.out으로 출력하며, 배열 하나를 출력할 때마다 flush한다. 
+	 * System.setOut()으로 표준 출력이 바뀌어도 바뀐 대상으로 출력한다. 
+	 * {@link ConsoleSink}가 켜져 있으면 ConsoleSink를 거쳐 출력하며, 
+	 * 이때는 출력 스레드가 flush를 맡으므로 호출한 스레드는 기다리지 않는다. 
+	 * 내부 버퍼({@link #DEFAULT_BUFFER_SIZE}자)가 찰 때마다 그 내용을 ConsoleSink에 따로 넘기므로 
+	 * 배열이 아무리 커도 메모리 사용량은 버퍼 크기를 넘지 않는다. 
+	 * 출력 결과가 버퍼 크기 이하인 배열은 다른 출력과 섞이지 않는다. 
+	 * 그보다 큰 배열은 조각 순서는 유지되지만 조각 사이에 다른 스레드의 출력이 끼어들 수 있으며, 
+	 * {@link ConsoleSink.OverflowPolicy#DROP}에서는 일부 조각만 버려질 수 있다.
+	 */
+	public ArrayPrinter() {
+		this(new StdoutSink(), DEFAULT_BUFFER_SIZE);
+		autoFlush = true;
+	}
+
+	/**
+	 * @param out - 출력 대상. 예) StringBuilder, Writer, PrintStream
+	 */
+	public ArrayPrinter(Appendable out) {
+		this(new Sink() {
+			@Override
+			public void write(char[] chars, int length) throws IOException {
+				out.append(CharBuffer.wrap(chars, 0, length));
+			}
+
+			@Override
+			public void flush() throws IOException {
+				if (out instanceof Flushable) {
+					((Flushable) out).flush();
+				}
+			}
+		}, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * @param out - 출력 대상 바이트 스트림.
+	 * @param charset - 문자 인코딩.
+	 */
+	public ArrayPrinter(OutputStream out, Charset charset) {
+		this(new EncodingSink(charset) {
+			@Override
+			void writeBytes(ByteBuffer bytes) throws IOException {
+				out.write(bytes.array(), 0, bytes.limit());
+			}
+
+			@Override
+			public void flush() throws IOException {
+				out.flush();
+			}
+		}, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * @param out - 출력 대상 채널.
+	 * @param charset - 문자 인코딩.
+	 */
+	public ArrayPrinter(WritableByteChannel out, Charset charset) {
+		this(new EncodingSink(charset) {
+			@Override
+			void writeBytes(ByteBuffer bytes) throws IOException {
+				while (bytes.hasRemaining()) {
+					out.write(bytes);
+				}
+			}
+
+			@Override
+			public void flush() {
+				// 채널은 쓰는 즉시 전달되므로 따로 할 일이 없다.
+			}
+		}, DEFAULT_BUFFER_SIZE);
+	}
+
+	private ArrayPrinter(Sink sink, int bufferSize) {
+		this.sink = sink;
+		buf = new char[bufferSize];
+	}
+
+	/**
+	 * 현재 스레드가 System.out으로 출력할 때 재사용하는 객체를 반환.
+	 */
+	static ArrayPrinter stdout() {
+		return STDOUT.get();
+	}
+
+	/**
+	 * 큰 배열의 요약 방식과 줄 너비를 지정. 기본값은 {@link PrintOptions#FULL}.
+	 * @param options - 출력 설정.
+	 */
+	public void setOptions(PrintOptions options) {
+		this.options = Objects.requireNonNull(options, "options");
+	}
+
+	/**
+	 * 현재 출력 설정을 반환.
+	 * @return PrintOptions
+	 */
+	public PrintOptions getOptions() {
+		return options;
+	}
+
+	/**
+	 * 배열 하나를 출력할 때마다 flush할지 지정. 
+	 * System.out으로 출력하는 객체는 기본값이 true, 그 외는 false이다.
+	 * @param autoFlush - true이면 배열 하나를 출력할 때마다 flush한다.
+	 */
+	public void setAutoFlush(boolean autoFlush) {
+		this.autoFlush = autoFlush;
+	}
+
+	/**
+	 * 배열을 [1, 2, 3] 형식으로 출력하고 줄을 바꾼다. (Arrays.toString()과 같은 형식)
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(int[] arr) {
+		if (arr == null) {
+			printNullLine();
+			return;
+		}
+		printArray(arr, 0, arr.length);
+	}
+
+	/**
+	 * 배열의 일부 구간을 [1, 2, 3] 형식으로 출력하고 줄을 바꾼다.
+	 * @param arr - 출력할 배열.
+	 * @param offset - 출력을 시작할 인덱스.
+	 * @param length - 출력할 원소 수.
+	 * @throws IndexOutOfBoundsException 구간이 배열 범위를 벗어난 경우.
+	 */
+	public void printArray(int[] arr, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, arr.length);
+		if (needsLayout(length)) {
+			writeLaidOut(offset, length, (sb, i) -> sb.append(arr[i]));
+			return;
+		}
+		write('[');
+		for (int i = offset, end = offset + length; i < end; i++) {
+			if (i > offset) {
+				write(", ");
+			}
+			writeInt(arr[i]);
+		}
+		endArray(']');
+	}
+
+	/**
+	 * 배열을 [1, 2, 3] 형식으로 출력하고 줄을 바꾼다. (Arrays.toString()과 같은 형식)
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(long[] arr) {
+		if (arr == null) {
+			printNullLine();
+			return;
+		}
+		printArray(arr, 0, arr.length);
+	}
+
+	/**
+	 * 배열의 일부 구간을 [1, 2, 3] 형식으로 출력하고 줄을 바꾼다.
+	 * @param arr - 출력할 배열.
+	 * @param offset - 출력을 시작할 인덱스.
+	 * @param length - 출력할 원소 수.
+	 * @throws IndexOutOfBoundsException 구간이 배열 범위를 벗어난 경우.
+	 */
+	public void printArray(long[] arr, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, arr.length);
+		if (needsLayout(length)) {
+			writeLaidOut(offset, length, (sb, i) -> sb.append(arr[i]));
+			return;
+		}
+		write('[');
+		for (int i = offset, end = offset + length; i < end; i++) {
+			if (i > offset) {
+				write(", ");
+			}
+			writeLong(arr[i]);
+		}
+		endArray(']');
+	}
+
+	/**
+	 * 배열을 [1, 2, 3] 형식으로 출력하고 줄을 바꾼다. (Arrays.toString()과 같은 형식)
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(short[] arr) {
+		if (arr == null) {
+			printNullLine();
+			return;
+		}
+		printArray(arr, 0, arr.length);
+	}
+
+	/**
+	 * 배열의 일부 구간을 [1, 2, 3] 형식으로 출력하고 줄을 바꾼다.
+	 * @param arr - 출력할 배열.
+	 * @param offset - 출력을 시작할 인덱스.
+	 * @param length - 출력할 원소 수.
+	 * @throws IndexOutOfBoundsException 구간이 배열 범위를 벗어난 경우.
+	 */
+	public void printArray(short[] arr, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, arr.length);
+		if (needsLayout(length)) {
+			writeLaidOut(offset, length, (sb, i) -> sb.append(arr[i]));
+			return;
+		}
+		write('[');
+		for (int i = offset, end = offset + length; i < end; i++) {
+			if (i > offset) {
+				write(", ");
+			}
+			writeInt(arr[i]);
+		}
+		endArray(']');
+	}
+
+	/**
+	 * 배열을 [1, 2, 3] 형식으로 출력하고 줄을 바꾼다. (Arrays.toString()과 같은 형식)
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(byte[] arr) {
+		if (arr == null) {
+			printNullLine();
+			return;
+		}
+		printArray(arr, 0, arr.length);
+	}
+
+	/**
+	 * 배열의 일부 구간을 [1, 2, 3] 형식으로 출력하고 줄을 바꾼다.
+	 * @param arr - 출력할 배열.
+	 * @param offset - 출력을 시작할 인덱스.
+	 * @param length - 출력할 원소 수.
+	 * @throws IndexOutOfBoundsException 구간이 배열 범위를 벗어난 경우.
+	 */
+	public void printArray(byte[] arr, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, arr.length);
+		if (needsLayout(length)) {
+			writeLaidOut(offset, length, (sb, i) -> sb.append(arr[i]));
+			return;
+		}
+		write('[');
+		for (int i = offset, end = offset + length; i < end; i++) {
+			if (i > offset) {
+				write(", ");
+			}
+			writeInt(arr[i]);
+		}
+		endArray(']');
+	}
+
+	/**
+	 * 배열을 [1.0, 2.5] 형식으로 출력하고 줄을 바꾼다. (Arrays.toString()과 같은 형식)
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(double[] arr) {
+		if (arr == null) {
+			printNullLine();
+			return;
+		}
+		printArray(arr, 0, arr.length);
+	}
+
+	/**
+	 * 배열의 일부 구간을 [1.0, 2.5] 형식으로 출력하고 줄을 바꾼다.
+	 * @param arr - 출력할 배열.
+	 * @param offset - 출력을 시작할 인덱스.
+	 * @param length - 출력할 원소 수.
+	 * @throws IndexOutOfBoundsException 구간이 배열 범위를 벗어난 경우.
+	 */
+	public void printArray(double[] arr, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, arr.length);
+		if (needsLayout(length)) {
+			writeLaidOut(offset, length, (sb, i) -> sb.append(arr[i]));
+			return;
+		}
+		write('[');
+		for (int i = offset, end = offset + length; i < end; i++) {
+			if (i > offset) {
+				write(", ");
+			}
+			writeDouble(arr[i]);
+		}
+		endArray(']');
+	}
+
+	/**
+	 * 배열을 [1.0, 2.5] 형식으로 출력하고 줄을 바꾼다. (Arrays.toString()과 같은 형식)
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(float[] arr) {
+		if (arr == null) {
+			printNullLine();
+			return;
+		}
+		printArray(arr, 0, arr.length);
+	}
+
+	/**
+	 * 배열의 일부 구간을 [1.0, 2.5] 형식으로 출력하고 줄을 바꾼다.
+	 * @param arr - 출력할 배열.
+	 * @param offset - 출력을 시작할 인덱스.
+	 * @param length - 출력할 원소 수.
+	 * @throws IndexOutOfBoundsException 구간이 배열 범위를 벗어난 경우.
+	 */
+	public void printArray(float[] arr, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, arr.length);
+		if (needsLayout(length)) {
+			writeLaidOut(offset, length, (sb, i) -> sb.append(arr[i]));
+			return;
+		}
+		write('[');
+		for (int i = offset, end = offset + length; i < end; i++) {
+			if (i > offset) {
+				write(", ");
+			}
+			writeFloat(arr[i]);
+		}
+		endArray(']');
+	}
+
+	/**
+	 * 배열을 [a, b, c] 형식으로 출력하고 줄을 바꾼다. (Arrays.toString()과 같은 형식)
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(char[] arr) {
+		if (arr == null) {
+			printNullLine();
+			return;
+		}
+		printArray(arr, 0, arr.length);
+	}
+
+	/**
+	 * 배열의 일부 구간을 [a, b, c] 형식으로 출력하고 줄을 바꾼다.
+	 * @param arr - 출력할 배열.
+	 * @param offset - 출력을 시작할 인덱스.
+	 * @param length - 출력할 원소 수.
+	 * @throws IndexOutOfBoundsException 구간이 배열 범위를 벗어난 경우.
+	 */
+	public void printArray(char[] arr, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, arr.length);
+		if (needsLayout(length)) {
+			writeLaidOut(offset, length, (sb, i) -> sb.append(arr[i]));
+			return;
+		}
+		write('[');
+		for (int i = offset, end = offset + length; i < end; i++) {
+			if (i > offset) {
+				write(", ");
+			}
+			write(arr[i]);
+		}
+		endArray(']');
+	}
+
+	/**
+	 * 배열을 [true, false] 형식으로 출력하고 줄을 바꾼다. (Arrays.toString()과 같은 형식)
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(boolean[] arr) {
+		if (arr == null) {
+			printNullLine();
+			return;
+		}
+		printArray(arr, 0, arr.length);
+	}
+
+	/**
+	 * 배열의 일부 구간을 [true, false] 형식으로 출력하고 줄을 바꾼다.
+	 * @param arr - 출력할 배열.
+	 * @param offset - 출력을 시작할 인덱스.
+	 * @param length - 출력할 원소 수.
+	 * @throws IndexOutOfBoundsException 구간이 배열 범위를 벗어난 경우.
+	 */
+	public void printArray(boolean[] arr, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, arr.length);
+		if (needsLayout(length)) {
+			writeLaidOut(offset, length, (sb, i) -> sb.append(arr[i]));
+			return;
+		}
+		write('[');
+		for (int i = offset, end = offset + length; i < end; i++) {
+			if (i > offset) {
+				write(", ");
+			}
+			write(arr[i] ? "true" : "false");
+		}
+		endArray(']');
+	}
+
+	/**
+	 * 문자열 배열을 한 줄에 원소 하나씩 중괄호로 감싸 출력한다. 
+	 * <pre>
+	 * {
+	 *     "가",
+	 *     "나",
+	 * }
+	 * </pre>
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(String[] arr) {
+		write('{');
+		write(LINE_SEPARATOR);
+		int edge = options.getEdgeItems();
+		boolean summarize = arr.length > options.getThreshold() && exceedsEdges(arr.length);
+		for (int k = 0, shown = summarize ? 2 * edge + 1 : arr.length; k < shown; k++) {
+			int i = shownIndex(k, arr.length, summarize);
+			if (i < 0) {
+				write("    ...");
+				write(LINE_SEPARATOR);
+				continue;
+			}
+			write("    \"");
+			write(String.valueOf(arr[i]));
+			write("\",");
+			write(LINE_SEPARATOR);
+		}
+		endArray('}');
+	}
+
+	/**
+	 * 2차원 배열을 행마다 한 줄씩, 열을 맞추어 출력한다. 길이가 다른 행도 출력할 수 있다.
+	 * <pre>
+	 * [[ 1,  2,  3],
+	 *  [10, 20, 30]]
+	 * </pre>
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(int[][] arr) {
+		printGrid(arr, (sb, row, col) -> sb.append(((int[]) row)[col]), false);
+	}
+
+	/**
+	 * 2차원 배열을 행마다 한 줄씩, 열을 맞추어 출력한다.
+	 * @param arr - 출력할 배열.
+	 * @see #printArray(int[][])
+	 */
+	public void printArray(long[][] arr) {
+		printGrid(arr, (sb, row, col) -> sb.append(((long[]) row)[col]), false);
+	}
+
+	/**
+	 * 2차원 배열을 행마다 한 줄씩, 열을 맞추어 출력한다.
+	 * @param arr - 출력할 배열.
+	 * @see #printArray(int[][])
+	 */
+	public void printArray(double[][] arr) {
+		printGrid(arr, (sb, row, col) -> sb.append(((double[]) row)[col]), false);
+	}
+
+	/**
+	 * 2차원 문자열 배열을 행마다 한 줄씩 출력한다. 각 문자열은 큰따옴표로 감싸고 왼쪽으로 맞춘다.
+	 * @param arr - 출력할 배열.
+	 * @see #printArray(int[][])
+	 */
+	public void printArray(String[][] arr) {
+		printGrid(arr, ArrayPrinter::formatQuoted, true);
+	}
+
+	/**
+	 * 3차원 배열을 2차원 배열 단위로 빈 줄을 사이에 두고 출력한다. 
+	 * 모든 2차원 배열의 열 너비를 함께 맞춘다.
+	 * <pre>
+	 * [[[1, 2],
+	 *   [3, 4]],
+	 *
+	 *  [[5, 6],
+	 *   [7, 8]]]
+	 * </pre>
+	 * @param arr - 출력할 배열.
+	 */
+	public void printArray(int[][][] arr) {
+		if (arr == null) {
+			printNullLine();
+			return;
+		}
+		CellFormatter formatter = (sb, row, col) -> sb.append(((int[]) row)[col]);
+		boolean summarize = countExceeds(arr, options.getThreshold());
+		int[] widths = new int[0];
+		for (int kb = 0, shown = shownCount(arr.length, summarize); kb < shown; kb++) {
+			int b = shownIndex(kb, arr.length, summarize);
+			if (b >= 0 && arr[b] != null) {
+				widths = measure(arr[b], formatter, summarize, widths);
+			}
+		}
+
+		write('[');
+		for (int kb = 0, shown = shownCount(arr.length, summarize); kb < shown; kb++) {
+			if (kb > 0) {
+				write(',');
+				write(LINE_SEPARATOR);
+				write(LINE_SEPARATOR);
+				write(' ');
+			}
+			int b = shownIndex(kb, arr.length, summarize);
+			if (b < 0) {
+				write("...");
+			} else if (arr[b] == null) {
+				write("null");
+			} else {
+				writeGrid(arr[b], formatter, widths, false, summarize, 1);
+			}
+		}
+		endArray(']');
+	}
+
+	/**
+	 * 버퍼에 남은 내용을 출력 대상에 쓰고 출력 대상을 flush한다.
+	 */
+	@Override
+	public void flush() {
+		try {
+			drain();
+			sink.flush();
+		} catch (IOException exp) {
+			throw new UncheckedIOException(exp);
+		}
+	}
+
+	/**
+	 * 정수를 임시 문자열 없이 버퍼에 바로 10진수로 쓴다. 
+	 * 두 자리씩 표를 이용해 뒤에서부터 채운다.
+	 */
+	private void writeInt(int value) {
+		if (value == Integer.MIN_VALUE) {
+			write("-2147483648");
+			return;
+		}
+		ensureRoom(MAX_NUMBER_CHARS);
+		if (value < 0) {
+			buf[pos++] = '-';
+			value = -value;
+		}
+		int end = pos + digitCount(value);
+		int i = end;
+		while (value >= 100) {
+			int r = value % 100;
+			value /= 100;
+			buf[--i] = DIGIT_ONES[r];
+			buf[--i] = DIGIT_TENS[r];
+		}
+		if (value >= 10) {
+			buf[--i] = DIGIT_ONES[value];
+			buf[--i] = DIGIT_TENS[value];
+		} else {
+			buf[--i] = (char) ('0' + value);
+		}
+		pos = end;
+	}
+
+	private void writeLong(long value) {
+		if (value == (int) value) {
+			writeInt((int) value);
+			return;
+		}
+		if (value == Long.MIN_VALUE) {
+			write("-9223372036854775808");
+			return;
+		}
+		ensureRoom(MAX_NUMBER_CHARS);
+		if (value < 0) {
+			buf[pos++] = '-';
+			value = -value;
+		}
+		int end = pos + digitCount(value);
+		int i = end;
+		while (value > Integer.MAX_VALUE) {
+			int r = (int) (value % 100);
+			value /= 100;
+			buf[--i] = DIGIT_ONES[r];
+			buf[--i] = DIGIT_TENS[r];
+		}
+		// 남은 앞자리는 int 범위이므로 int 연산으로 채운다.
+		int rest = (int) value;
+		while (rest >= 100) {
+			int r = rest % 100;
+			rest /= 100;
+			buf[--i] = DIGIT_ONES[r];
+			buf[--i] = DIGIT_TENS[r];
+		}
+		if (rest >= 10) {
+			buf[--i] = DIGIT_ONES[rest];
+			buf[--i] = DIGIT_TENS[rest];
+		} else {
+			buf[--i] = (char) ('0' + rest);
+		}
+		pos = end;
+	}
+
+	/**
+	 * 실수는 StringBuilder.append(double)로 재사용 버퍼에 쓴 뒤 옮긴다. 
+	 * 결과는 Double.toString()과 같으며, 원래 값으로 되돌릴 수 있는 가장 짧은 표현이다. 
+	 * (JDK 19 이상에서 보장됨)
+	 */
+	private void writeDouble(double value) {
+		scratch.setLength(0);
+		write(scratch.append(value));
+	}
+
+	private void writeFloat(float value) {
+		scratch.setLength(0);
+		write(scratch.append(value));
+	}
+
+	private static int digitCount(int value) {
+		int limit = 10;
+		for (int digits = 1; digits < 10; digits++) {
+			if (value < limit) {
+				return digits;
+			}
+			limit *= 10;
+		}
+		return 10;
+	}
+
+	private static int digitCount(long value) {
+		long limit = 10;
+		for (int digits = 1; digits < 19; digits++) {
+			if (value < limit) {
+				return digits;
+			}
+			limit *= 10;
+		}
+		return 19;
+	}
+
+	private void ensureRoom(int chars) {
+		if (buf.length - pos < chars) {
+			drainUnchecked();
+		}
+	}
+
+	private boolean needsLayout(int length) {
+		return length > options.getThreshold() || options.getLineWidth() > 0;
+	}
+
+	/**
+	 * 출력 설정에 따라 요약하고 줄을 바꾸며 1차원 배열을 출력한다. 
+	 * 출력하는 원소만 읽으므로 비용은 출력되는 원소 수에 비례한다.
+	 */
+	private void writeLaidOut(int offset, int length, ElementFormatter formatter) {
+		boolean summarize = length > options.getThreshold();
+		int lineWidth = options.getLineWidth();
+		int column = 1;
+		write('[');
+		for (int k = 0, shown = shownCount(length, summarize); k < shown; k++) {
+			scratch.setLength(0);
+			int i = shownIndex(k, length, summarize);
+			if (i < 0) {
+				scratch.append("...");
+			} else {
+				formatter.format(scratch, offset + i);
+			}
+
+			if (k > 0) {
+				// 원소 뒤의 쉼표 또는 닫는 괄호 한 글자까지 줄 너비에 포함한다.
+				if (lineWidth > 0 && column + 2 + scratch.length() + 1 > lineWidth) {
+					write(',');
+					write(LINE_SEPARATOR);
+					write(' ');
+					column = 1;
+				} else {
+					write(", ");
+					column += 2;
+				}
+			}
+			write(scratch);
+			column += scratch.length();
+		}
+		endArray(']');
+	}
+
+	/**
+	 * 길이가 length인 축에서 실제로 출력할 항목 수. (요약 표시 "..." 포함)
+	 */
+	private int shownCount(int length, boolean summarize) {
+		int edge = options.getEdgeItems();
+		return summarize && exceedsEdges(length) ? 2 * edge + 1 : length;
+	}
+
+	/**
+	 * k번째로 출력할 항목의 실제 인덱스. 요약 표시 "..." 자리이면 -1.
+	 */
+	private int shownIndex(int k, int length, boolean summarize) {
+		int edge = options.getEdgeItems();
+		if (!summarize || !exceedsEdges(length) || k < edge) {
+			return k;
+		}
+		return k == edge ? -1 : length - (2 * edge + 1 - k);
+	}
+
+	/**
+	 * 길이가 length인 축이 앞뒤 edgeItems개씩을 제외하고도 남는 항목이 있는지 확인한다.
+	 * edgeItems가 매우 큰 경우 2 * edgeItems가 int 범위를 넘지 않도록 long으로 비교한다.
+	 * true이면 2 * edgeItems + 1 &lt;= length이므로 이후의 int 계산은 넘치지 않는다.
+	 */
+	private boolean exceedsEdges(int length) {
+		return length > 2L * options.getEdgeItems();
+	}
+
+	/**
+	 * 2차원 배열의 원소 수가 limit을 넘는지 확인한다. 
+	 * 넘는 순간 멈추므로 확인 비용은 limit을 크게 넘지 않는다.
+	 */
+	private static boolean countExceeds(Object[] rows, long limit) {
+		return countElements(rows, 0, limit) > limit;
+	}
+
+	/**
+	 * 3차원 배열의 원소 수가 limit을 넘는지 확인한다.
+	 */
+	private static boolean countExceeds(Object[][] blocks, long limit) {
+		long total = 0;
+		for (Object[] rows : blocks) {
+			if (rows != null) {
+				total = countElements(rows, total, limit);
+				if (total > limit) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static long countElements(Object[] rows, long total, long limit) {
+		if (rows.length > limit - total) {
+			return limit + 1;
+		}
+		for (Object row : rows) {
+			total += row == null ? 0 : Array.getLength(row);
+			if (total > limit) {
+				break;
+			}
+		}
+		return total;
+	}
+
+	private void printGrid(Object[] rows, CellFormatter formatter, boolean leftAlign) {
+		if (rows == null) {
+			printNullLine();
+			return;
+		}
+		boolean summarize = countExceeds(rows, options.getThreshold());
+		int[] widths = measure(rows, formatter, summarize, new int[0]);
+		writeGrid(rows, formatter, widths, leftAlign, summarize, 0);
+		endLine();
+	}
+
+	/**
+	 * 출력될 원소들만 한 번씩 훑어 열(출력 위치)마다 가장 긴 원소의 길이를 구한다. 
+	 * widths보다 열이 많으면 늘린 배열을 반환한다.
+	 */
+	private int[] measure(Object[] rows, CellFormatter formatter, boolean summarize, int[] widths) {
+		for (int kr = 0, shownRows = shownCount(rows.length, summarize); kr < shownRows; kr++) {
+			int r = shownIndex(kr, rows.length, summarize);
+			if (r < 0 || rows[r] == null) {
+				continue;
+			}
+			Object row = rows[r];
+			int length = Array.getLength(row);
+			int shownCols = shownCount(length, summarize);
+			if (shownCols > widths.length) {
+				widths = Arrays.copyOf(widths, shownCols);
+			}
+			for (int kc = 0; kc < shownCols; kc++) {
+				int c = shownIndex(kc, length, summarize);
+				scratch.setLength(0);
+				if (c < 0) {
+					scratch.append("...");
+				} else {
+					formatter.format(scratch, row, c);
+				}
+				widths[kc] = Math.max(widths[kc], scratch.length());
+			}
+		}
+		return widths;
+	}
+
+	private void writeGrid(Object[] rows, CellFormatter formatter, int[] widths, 
+			boolean leftAlign, boolean summarize, int indent) {
+		write('[');
+		for (int kr = 0, shownRows = shownCount(rows.length, summarize); kr < shownRows; kr++) {
+			if (kr > 0) {
+				write(',');
+				write(LINE_SEPARATOR);
+				writeSpaces(indent + 1);
+			}
+			int r = shownIndex(kr, rows.length, summarize);
+			if (r < 0) {
+				write("...");
+			} else if (rows[r] == null) {
+				write("null");
+			} else {
+				writeRow(rows[r], formatter, widths, leftAlign, summarize);
+			}
+		}
+		write(']');
+	}
+
+	private void writeRow(Object row, CellFormatter formatter, int[] widths, 
+			boolean leftAlign, boolean summarize) {
+		int length = Array.getLength(row);
+		int pending = 0;
+		write('[');
+		for (int kc = 0, shownCols = shownCount(length, summarize); kc < shownCols; kc++) {
+			if (kc > 0) {
+				// 왼쪽 정렬일 때는 앞 원소의 여백을 쉼표 뒤에 채운다.
+				write(',');
+				writeSpaces(pending + 1);
+			}
+			int c = shownIndex(kc, length, summarize);
+			scratch.setLength(0);
+			if (c < 0) {
+				scratch.append("...");
+			} else {
+				formatter.format(scratch, row, c);
+			}
+			int padding = widths[kc] - scratch.length();
+			if (leftAlign) {
+				pending = padding;
+			} else {
+				writeSpaces(padding);
+			}
+			write(scratch);
+		}
+		write(']');
+	}
+
+	private void writeSpaces(int count) {
+		for (int i = 0; i < count; i++) {
+			write(' ');
+		}
+	}
+
+	private static void formatQuoted(StringBuilder sb, Object row, int col) {
+		String value = ((String[]) row)[col];
+		if (value == null) {
+			sb.append("null");
+		} else {
+			sb.append('"').append(value).append('"');
+		}
+	}
+
+	private void printNullLine() {
+		write("null");
+		endLine();
+	}
+
+	private void endArray(char close) {
+		write(close);
+		endLine();
+	}
+
+	private void endLine() {
+		write(LINE_SEPARATOR);
+		if (autoFlush) {
+			flush();
+		}
+	}
+
+	private void write(char c) {
+		if (pos == buf.length) {
+			drainUnchecked();
+		}
+		buf[pos++] = c;
+	}
+
+	private void write(CharSequence text) {
+		int length = text.length();
+		int from = 0;
+		while (from < length) {
+			if (pos == buf.length) {
+				drainUnchecked();
+			}
+			int n = Math.min(length - from, buf.length - pos);
+			if (text instanceof String) {
+				((String) text).getChars(from, from + n, buf, pos);
+			} else if (text instanceof StringBuilder) {
+				((StringBuilder) text).getChars(from, from + n, buf, pos);
+			} else {
+				for (int i = 0; i < n; i++) {
+					buf[pos + i] = text.charAt(from + i);
+				}
+			}
+			pos += n;
+			from += n;
+		}
+	}
+
+	/**
+	 * 버퍼가 가득 찼을 때 내보낸다. 
+	 * 서로게이트 쌍이 두 덩어리로 나뉘어 인코딩되지 않도록 끝의 상위 서로게이트는 남겨둔다.
+	 */
+	private void drainUnchecked() {
+		try {
+			if (pos > 0 && Character.isHighSurrogate(buf[pos - 1])) {
+				sink.write(buf, pos - 1);
+				buf[0] = buf[pos - 1];
+				pos = 1;
+			} else {
+				drain();
+			}
+		} catch (IOException exp) {
+			throw new UncheckedIOException(exp);
+		}
+	}
+
+	private void drain() throws IOException {
+		if (pos > 0) {
+			sink.write(buf, pos);
+			pos = 0;
+		}
+	}
+
+	/**
+	 * System.out으로 내보내는 대상. 
+	 * ConsoleSink가 켜져 있으면 버퍼를 내보낼 때마다 그 내용을 하나의 출력으로 넘긴다.
+	 */
+	private static final class StdoutSink implements Sink {
+		@Override
+		public void write(char[] chars, int length) {
+			ConsoleSink.print(CharBuffer.wrap(chars, 0, length));
+		}
+
+		@Override
+		public void flush() {
+			if (!ConsoleSink.isEnabled()) {
+				System.out.flush();
+			}
+		}
+	}
+
+	/**
+	 * 문자를 재사용하는 인코더와 바이트 버퍼로 인코딩하여 내보내는 대상.
+	 */
+	private abstract static class EncodingSink implements Sink {
+		private final CharsetEncoder encoder;
+		private ByteBuffer bytes = null;
+
+		EncodingSink(Charset charset) {
+			encoder = charset.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+
+		abstract void writeBytes(ByteBuffer bytes) throws IOException;
+
+		@Override
+		public void write(char[] chars, int length) throws IOException {
+			if (bytes == null) {
+				bytes = ByteBuffer.allocate((int) Math.ceil(DEFAULT_BUFFER_SIZE * encoder.maxBytesPerChar()));
+			}
+			CharBuffer in = CharBuffer.wrap(chars, 0, length);
+			encoder.reset();
+			while (encoder.encode(in, bytes, true).isOverflow()) {
+				writeOut();
+			}
+			while (encoder.flush(bytes).isOverflow()) {
+				writeOut();
+			}
+			writeOut();
+		}
+
+		private void writeOut() throws IOException {
+			bytes.flip();
+			writeBytes(bytes);
+			bytes.clear();
+		}
+	}
+
+}
@@ -0,0 +1,196 @@
+package jeca.any;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 여러 스레드가 함께 사용할 수 있는 {@link Leaderboard}.
+ *
+ * <p>
+ * 점수 갱신은 쓰기 잠금으로 직렬화된다. 순위, 점수, 인원 수, 상위 목록 조회는
+ * {@link StampedLock}의 낙관적 읽기로 잠금 없이 수행하므로
+ * 쓰는 스레드를 막지 않는다. 도중에 쓰기가 끼어든 경우에만 다시 읽으며,
+ * 여러 번 실패하면 공유 읽기 잠금을 잡고 읽는다.
+ * 상위 목록은 지역 배열에 복사한 뒤 검증하므로 검증에 실패한 결과는 반환되지 않는다.
+ * </p>
+ *
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ *
+ * @author JeroCaller
+ */
+public class ConcurrentLeaderboard extends Leaderboard {
+	/**
+	 * 낙관적 읽기를 포기하고 읽기 잠금을 잡기 전까지 다시 시도하는 횟수.
+	 */
+	private static final int OPTIMISTIC_RETRIES = 4;
+
+	private final StampedLock lock = new StampedLock();
+
+	/**
+	 * @param capacity - 등록할 수 있는 id의 개수. id는 0 이상 capacity 미만이어야 한다.
+	 * @param minScore - 가능한 가장 낮은 점수. 해당 점수도 포함됨.
+	 * @param maxScore - 가능한 가장 높은 점수. 해당 점수도 포함됨.
+	 */
+	public ConcurrentLeaderboard(int capacity, int minScore, int maxScore) {
+		super(capacity, minScore, maxScore);
+	}
+
+	@Override
+	public void setScore(int id, int score) {
+		long stamp = lock.writeLock();
+		try {
+			super.setScore(id, score);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public boolean remove(int id) {
+		long stamp = lock.writeLock();
+		try {
+			return super.remove(id);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public boolean contains(int id) {
+		for (int i = 0; i < OPTIMISTIC_RETRIES; i++) {
+			long stamp = lock.tryOptimisticRead();
+			boolean result = super.contains(id);
+			if (stamp != 0 && lock.validate(stamp)) {
+				return result;
+			}
+		}
+		long stamp = lock.readLock();
+		try {
+			return super.contains(id);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public int getScore(int id) {
+		boolean found = false;
+		int score = 0;
+		boolean valid = false;
+
+		for (int i = 0; i < OPTIMISTIC_RETRIES && !valid; i++) {
+			long stamp = lock.tryOptimisticRead();
+			found = super.contains(id);
+			score = rawScore(id);
+			valid = stamp != 0 && lock.validate(stamp);
+		}
+		if (!valid) {
+			long stamp = lock.readLock();
+			try {
+				found = super.contains(id);
+				score = rawScore(id);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		if (!found) {
+			throw new NoSuchElementException("등록되지 않은 id: " + id);
+		}
+		return score;
+	}
+
+	@Override
+	public int size() {
+		for (int i = 0; i < OPTIMISTIC_RETRIES; i++) {
+			long stamp = lock.tryOptimisticRead();
+			int result = super.size();
+			if (stamp != 0 && lock.validate(stamp)) {
+				return result;
+			}
+		}
+		long stamp = lock.readLock();
+		try {
+			return super.size();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public int rankOf(int id) {
+		for (int i = 0; i < OPTIMISTIC_RETRIES; i++) {
+			long stamp = lock.tryOptimisticRead();
+			int result = super.rankOf(id);
+			if (stamp != 0 && lock.validate(stamp)) {
+				return result;
+			}
+		}
+		long stamp = lock.readLock();
+		try {
+			return super.rankOf(id);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public int countAbove(int score) {
+		for (int i = 0; i < OPTIMISTIC_RETRIES; i++) {
+			long stamp = lock.tryOptimisticRead();
+			int result = super.countAbove(score);
+			if (stamp != 0 && lock.validate(stamp)) {
+				return result;
+			}
+		}
+		long stamp = lock.readLock();
+		try {
+			return super.countAbove(score);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public int countInScoreRange(int lowScore, int highScore) {
+		for (int i = 0; i < OPTIMISTIC_RETRIES; i++) {
+			long stamp = lock.tryOptimisticRead();
+			int result = super.countInScoreRange(lowScore, highScore);
+			if (stamp != 0 && lock.validate(stamp)) {
+				return result;
+			}
+		}
+		long stamp = lock.readLock();
+		try {
+			return super.countInScoreRange(lowScore, highScore);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public int[] getIdsByPosition(int fromPosition, int count) {
+		for (int i = 0; i < OPTIMISTIC_RETRIES; i++) {
+			long stamp = lock.tryOptimisticRead();
+			int[] result = readIdsByPosition(fromPosition, count);
+			if (result != null && stamp != 0 && lock.validate(stamp)) {
+				return result;
+			}
+		}
+		long stamp = lock.readLock();
+		try {
+			return super.getIdsByPosition(fromPosition, count);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+}
@@ -1,6 +1,14 @@
 package jeca.any;
 import java.util.Random;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Objects;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+import java.util.random.RandomGenerator;
 
 /**
  * 랜덤 관련 도구 모음 유틸리티 클래스
@@ -21,12 +29,38 @@ import java.util.ArrayList;
  */
 public class CustomRandom {
 	static Random rand = new Random();
+	private static volatile RandomSource defaultSource = RandomSource.threadLocal();
+	
+	/**
+	 * {@link #parallelFill(int[], long, int, int)} 등에서 한 작업이 맡는 원소 개수.
+	 */
+	private static final int PARALLEL_CHUNK = 1 << 14;
 	
 	/**
 	 * 유틸리티로 사용할 것이므로 객체 생성 방지.
 	 */
 	private CustomRandom() {}
 	
+	/**
+	 * 난수 생성기를 따로 넘겨받지 않는 메서드들이 사용할 기본 생성기를 지정.
+	 * 기본값은 {@link RandomSource#threadLocal()}.
+	 * @param source - 기본으로 사용할 난수 생성기 제공자.
+	 */
+	public static void setDefaultSource(RandomSource source) {
+		if (source == null) {
+			throw new NullPointerException("source");
+		}
+		defaultSource = source;
+	}
+	
+	/**
+	 * 현재 지정된 기본 난수 생성기 제공자를 반환.
+	 * @return RandomSource
+	 */
+	public static RandomSource getDefaultSource() {
+		return defaultSource;
+	}
+	
 	/**
 	 * 정해진 범위 내 정수들 중 일부를 무작위로 뽑아 배열로 반환.
 	 * @param len - 무작위로 뽑을 숫자 개수
@@ -35,37 +69,566 @@ public class CustomRandom {
 	 * @return int[]
 	 */
 	public static int[] getRandomNums(int len, int startNum, int endNum) {
+		return getRandomNums(len, startNum, endNum, defaultSource.current());
+	}
+	
+	/**
+	 * 정해진 범위 내 정수들 중 일부를 주어진 난수 생성기로 무작위로 뽑아 배열로 반환.
+	 * @param len - 무작위로 뽑을 숫자 개수
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param rng - 사용할 난수 생성기. 예) {@link RandomSource#current()}
+	 * @return int[]
+	 */
+	public static int[] getRandomNums(int len, int startNum, int endNum, RandomGenerator rng) {
 		int[] randNums = new int[len];
-		
-		for (int i = 0; i < len; i++) {
-			randNums[i] = rand.nextInt(startNum, endNum);
-		}
-		
+		fill(randNums, 0, len, startNum, endNum, rng);
 		return randNums;
 	}
 	
 	/**
 	 * 정해진 범위 내 정수들 중 일부를 중복되지 않게 무작위로 뽑아 배열로 반환. 
+	 * 범위 전체를 펼치지 않으므로 시간과 메모리 모두 O(len)이다. 
 	 * @param len - 무작위로 뽑을 숫자 개수. endNum - startNum + 1 < len일 경우 len만큼만 뽑는다. 
 	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
 	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
 	 * @return int[]
 	 */
 	public static int[] getRandomNumsNoDup(int len, int startNum, int endNum) {
-		 ArrayList<Integer> alNums = CustomRandom.getArrayNtoM(startNum, endNum);
-
-		 if (endNum - startNum + 1 < len) {
-			 len = endNum - startNum + 1;
-		 }
-		 int[] result = new int[len];
-		 
-		 for (int i = 0; i < len; i++) {
-			 result[i] = (int) alNums.remove(
-					 rand.nextInt(alNums.size())
-			 );
-		 }
-		 
-		 return result;
+		return RandomSampler.sampleNoDup(len, startNum, endNum, defaultSource.current());
+	}
+	
+	/**
+	 * 정해진 범위 내 정수들 중 일부를 주어진 난수 생성기로 중복되지 않게 무작위로 뽑아 배열로 반환. 
+	 * @param len - 무작위로 뽑을 숫자 개수. endNum - startNum + 1 < len일 경우 len만큼만 뽑는다. 
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param rng - 사용할 난수 생성기. 예) {@link RandomSource#current()}
+	 * @return int[]
+	 */
+	public static int[] getRandomNumsNoDup(int len, int startNum, int endNum, RandomGenerator rng) {
+		return RandomSampler.sampleNoDup(len, startNum, endNum, rng);
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 startNum 이상 endNum 이하의 무작위 정수로 채운다.
+	 * 새 배열을 만들지 않으므로 같은 배열을 반복해서 재사용할 수 있다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 */
+	public static void fill(int[] dst, int from, int to, int startNum, int endNum) {
+		fill(dst, from, to, startNum, endNum, defaultSource.current());
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 주어진 난수 생성기로 startNum 이상 endNum 이하의 
+	 * 무작위 정수로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void fill(int[] dst, int from, int to, int startNum, int endNum, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, dst.length);
+		long span = checkedSpan(startNum, endNum);
+		
+		if (span <= Integer.MAX_VALUE) {
+			int bound = (int) span;
+			for (int i = from; i < to; i++) {
+				dst[i] = startNum + rng.nextInt(bound);
+			}
+			return;
+		}
+		// 범위가 int 양수 범위보다 넓으면 전체 int에서 뽑아 범위 밖의 값만 버린다. (채택률 50% 이상)
+		for (int i = from; i < to; i++) {
+			int value;
+			do {
+				value = rng.nextInt();
+			} while (value < startNum || value > endNum);
+			dst[i] = value;
+		}
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 startNum 이상 endNum 이하의 무작위 long 정수로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 */
+	public static void fill(long[] dst, int from, int to, long startNum, long endNum) {
+		fill(dst, from, to, startNum, endNum, defaultSource.current());
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 주어진 난수 생성기로 startNum 이상 endNum 이하의 
+	 * 무작위 long 정수로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void fill(long[] dst, int from, int to, long startNum, long endNum, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, dst.length);
+		if (startNum > endNum) {
+			throw new IllegalArgumentException("startNum > endNum: " + startNum + " > " + endNum);
+		}
+		long span = endNum - startNum + 1;
+		
+		if (span > 0) {
+			for (int i = from; i < to; i++) {
+				dst[i] = startNum + rng.nextLong(span);
+			}
+			return;
+		}
+		// 범위의 크기가 long 양수 범위를 넘어 span이 넘친 경우.
+		for (int i = from; i < to; i++) {
+			long value;
+			do {
+				value = rng.nextLong();
+			} while (value < startNum || value > endNum);
+			dst[i] = value;
+		}
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 origin 이상 bound 미만의 무작위 실수로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param origin - 범위의 시작 값. 해당 값도 범위에 포함됨.
+	 * @param bound - 범위의 끝 값. 해당 값은 범위에 포함되지 않음.
+	 */
+	public static void fill(float[] dst, int from, int to, float origin, float bound) {
+		fill(dst, from, to, origin, bound, defaultSource.current());
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 주어진 난수 생성기로 origin 이상 bound 미만의 
+	 * 무작위 실수로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param origin - 범위의 시작 값. 해당 값도 범위에 포함됨.
+	 * @param bound - 범위의 끝 값. 해당 값은 범위에 포함되지 않음.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void fill(float[] dst, int from, int to, float origin, float bound, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, dst.length);
+		float width = bound - origin;
+		if (!(origin < bound) || !Float.isFinite(width)) {
+			throw new IllegalArgumentException("잘못된 범위: [" + origin + ", " + bound + ")");
+		}
+		
+		for (int i = from; i < to; i++) {
+			float value = origin + rng.nextFloat() * width;
+			dst[i] = value < bound ? value : Math.nextDown(bound);
+		}
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 origin 이상 bound 미만의 무작위 실수로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param origin - 범위의 시작 값. 해당 값도 범위에 포함됨.
+	 * @param bound - 범위의 끝 값. 해당 값은 범위에 포함되지 않음.
+	 */
+	public static void fill(double[] dst, int from, int to, double origin, double bound) {
+		fill(dst, from, to, origin, bound, defaultSource.current());
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 주어진 난수 생성기로 origin 이상 bound 미만의 
+	 * 무작위 실수로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param origin - 범위의 시작 값. 해당 값도 범위에 포함됨.
+	 * @param bound - 범위의 끝 값. 해당 값은 범위에 포함되지 않음.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void fill(double[] dst, int from, int to, double origin, double bound, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, dst.length);
+		double width = bound - origin;
+		if (!(origin < bound) || !Double.isFinite(width)) {
+			throw new IllegalArgumentException("잘못된 범위: [" + origin + ", " + bound + ")");
+		}
+		
+		for (int i = from; i < to; i++) {
+			double value = origin + rng.nextDouble() * width;
+			dst[i] = value < bound ? value : Math.nextDown(bound);
+		}
+	}
+	
+	/**
+	 * 버퍼의 남은 공간(position부터 limit까지)을 startNum 이상 endNum 이하의 
+	 * 무작위 정수로 채운다. 다 채운 뒤 position은 limit으로 이동한다.
+	 * 다이렉트 버퍼도 사용할 수 있다.
+	 * @param dst - 채울 버퍼.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 */
+	public static void fill(IntBuffer dst, int startNum, int endNum) {
+		fill(dst, startNum, endNum, defaultSource.current());
+	}
+	
+	/**
+	 * 버퍼의 남은 공간(position부터 limit까지)을 주어진 난수 생성기로 
+	 * startNum 이상 endNum 이하의 무작위 정수로 채운다. 
+	 * 다 채운 뒤 position은 limit으로 이동한다.
+	 * @param dst - 채울 버퍼.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void fill(IntBuffer dst, int startNum, int endNum, RandomGenerator rng) {
+		int pos = dst.position();
+		int limit = dst.limit();
+		
+		if (dst.hasArray()) {
+			int offset = dst.arrayOffset();
+			fill(dst.array(), offset + pos, offset + limit, startNum, endNum, rng);
+			dst.position(limit);
+			return;
+		}
+		
+		long span = checkedSpan(startNum, endNum);
+		for (int i = pos; i < limit; i++) {
+			int value;
+			if (span <= Integer.MAX_VALUE) {
+				value = startNum + rng.nextInt((int) span);
+			} else {
+				do {
+					value = rng.nextInt();
+				} while (value < startNum || value > endNum);
+			}
+			dst.put(i, value);
+		}
+		dst.position(limit);
+	}
+	
+	/**
+	 * 버퍼의 남은 공간(position부터 limit까지)을 무작위 바이트로 채운다. 
+	 * 8바이트씩 한 번에 기록하며, 다 채운 뒤 position은 limit으로 이동한다.
+	 * 다이렉트 버퍼도 사용할 수 있다.
+	 * @param dst - 채울 버퍼.
+	 */
+	public static void fill(ByteBuffer dst) {
+		fill(dst, defaultSource.current());
+	}
+	
+	/**
+	 * 버퍼의 남은 공간(position부터 limit까지)을 주어진 난수 생성기로 무작위 바이트로 채운다. 
+	 * 8바이트씩 한 번에 기록하며, 다 채운 뒤 position은 limit으로 이동한다.
+	 * @param dst - 채울 버퍼.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void fill(ByteBuffer dst, RandomGenerator rng) {
+		int i = dst.position();
+		int limit = dst.limit();
+		
+		for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+			dst.putLong(i, rng.nextLong());
+		}
+		if (i < limit) {
+			long bits = rng.nextLong();
+			for (; i < limit; i++, bits >>>= 8) {
+				dst.put(i, (byte) bits);
+			}
+		}
+		dst.position(limit);
+	}
+	
+	/**
+	 * 시드로 재현 가능한 무작위 정수 스트림을 반환.
+	 * 
+	 * <p>
+	 * 각 원소의 값은 시드와 원소의 위치만으로 정해지므로, 
+	 * 순차 스트림이든 parallel()로 여러 코어에서 나누어 생성하든 
+	 * 같은 시드이면 항상 같은 순서의 같은 값이 나온다.
+	 * </p>
+	 * 
+	 * @param size - 생성할 정수 개수.
+	 * @param seed - 시드.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 * @return IntStream
+	 */
+	public static IntStream randomInts(long size, long seed, int startNum, int endNum) {
+		checkStreamSize(size);
+		long span = checkedSpan(startNum, endNum);
+		return StreamSupport.intStream(
+				new SeededSequence.IntSpliterator(seed, 0, size, startNum, span), false);
+	}
+	
+	/**
+	 * 시드로 재현 가능한 무작위 long 정수 스트림을 반환.
+	 * 병렬로 생성해도 같은 시드이면 항상 같은 결과가 나온다.
+	 * 
+	 * @param size - 생성할 정수 개수.
+	 * @param seed - 시드.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 * @return LongStream
+	 * @see #randomInts(long, long, int, int)
+	 */
+	public static LongStream randomLongs(long size, long seed, long startNum, long endNum) {
+		checkStreamSize(size);
+		if (startNum > endNum) {
+			throw new IllegalArgumentException("startNum > endNum: " + startNum + " > " + endNum);
+		}
+		return StreamSupport.longStream(
+				new SeededSequence.LongSpliterator(seed, 0, size, startNum, endNum - startNum + 1), false);
+	}
+	
+	/**
+	 * 시드로 재현 가능한 무작위 실수 스트림을 반환.
+	 * 병렬로 생성해도 같은 시드이면 항상 같은 결과가 나온다.
+	 * 
+	 * @param size - 생성할 실수 개수.
+	 * @param seed - 시드.
+	 * @param origin - 범위의 시작 값. 해당 값도 범위에 포함됨.
+	 * @param bound - 범위의 끝 값. 해당 값은 범위에 포함되지 않음.
+	 * @return DoubleStream
+	 * @see #randomInts(long, long, int, int)
+	 */
+	public static DoubleStream randomDoubles(long size, long seed, double origin, double bound) {
+		checkStreamSize(size);
+		if (!(origin < bound) || !Double.isFinite(bound - origin)) {
+			throw new IllegalArgumentException("잘못된 범위: [" + origin + ", " + bound + ")");
+		}
+		return StreamSupport.doubleStream(
+				new SeededSequence.DoubleSpliterator(seed, 0, size, origin, bound), false);
+	}
+	
+	/**
+	 * 배열 전체를 여러 코어에서 나누어 시드로 재현 가능한 무작위 정수로 채운다. 
+	 * dst[i]의 값은 {@link #randomInts(long, long, int, int)}가 같은 인자로 
+	 * 만드는 스트림의 i번째 값과 같다.
+	 * 
+	 * @param dst - 채울 배열.
+	 * @param seed - 시드.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 */
+	public static void parallelFill(int[] dst, long seed, int startNum, int endNum) {
+		long span = checkedSpan(startNum, endNum);
+		int chunks = (dst.length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+		
+		IntStream.range(0, chunks).parallel().forEach(c -> {
+			int from = c * PARALLEL_CHUNK;
+			int to = Math.min(from + PARALLEL_CHUNK, dst.length);
+			for (int i = from; i < to; i++) {
+				dst[i] = SeededSequence.intAt(seed, i, startNum, span);
+			}
+		});
+	}
+	
+	/**
+	 * 배열 전체를 여러 코어에서 나누어 시드로 재현 가능한 무작위 long 정수로 채운다. 
+	 * dst[i]의 값은 {@link #randomLongs(long, long, long, long)}가 같은 인자로 
+	 * 만드는 스트림의 i번째 값과 같다.
+	 * 
+	 * @param dst - 채울 배열.
+	 * @param seed - 시드.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 */
+	public static void parallelFill(long[] dst, long seed, long startNum, long endNum) {
+		if (startNum > endNum) {
+			throw new IllegalArgumentException("startNum > endNum: " + startNum + " > " + endNum);
+		}
+		long span = endNum - startNum + 1;
+		int chunks = (dst.length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+		
+		IntStream.range(0, chunks).parallel().forEach(c -> {
+			int from = c * PARALLEL_CHUNK;
+			int to = Math.min(from + PARALLEL_CHUNK, dst.length);
+			for (int i = from; i < to; i++) {
+				dst[i] = SeededSequence.longAt(seed, i, startNum, span);
+			}
+		});
+	}
+	
+	/**
+	 * 배열 전체를 여러 코어에서 나누어 시드로 재현 가능한 무작위 실수로 채운다. 
+	 * dst[i]의 값은 {@link #randomDoubles(long, long, double, double)}가 같은 인자로 
+	 * 만드는 스트림의 i번째 값과 같다.
+	 * 
+	 * @param dst - 채울 배열.
+	 * @param seed - 시드.
+	 * @param origin - 범위의 시작 값. 해당 값도 범위에 포함됨.
+	 * @param bound - 범위의 끝 값. 해당 값은 범위에 포함되지 않음.
+	 */
+	public static void parallelFill(double[] dst, long seed, double origin, double bound) {
+		double width = bound - origin;
+		if (!(origin < bound) || !Double.isFinite(width)) {
+			throw new IllegalArgumentException("잘못된 범위: [" + origin + ", " + bound + ")");
+		}
+		int chunks = (dst.length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+		
+		IntStream.range(0, chunks).parallel().forEach(c -> {
+			int from = c * PARALLEL_CHUNK;
+			int to = Math.min(from + PARALLEL_CHUNK, dst.length);
+			for (int i = from; i < to; i++) {
+				dst[i] = SeededSequence.doubleAt(seed, i, origin, width, bound);
+			}
+		});
+	}
+	
+	/**
+	 * 배열 전체를 제자리에서 무작위로 섞는다. (Fisher-Yates)
+	 * @param arr - 섞을 배열.
+	 */
+	public static void shuffle(int[] arr) {
+		shuffle(arr, 0, arr.length, defaultSource.current());
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 주어진 난수 생성기로 제자리에서 무작위로 섞는다. (Fisher-Yates)
+	 * 새 배열을 만들지 않으며 O(to - from) 시간이 든다.
+	 * @param arr - 섞을 배열.
+	 * @param from - 섞을 구간의 시작 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 섞을 구간의 끝 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void shuffle(int[] arr, int from, int to, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, arr.length);
+		for (int i = to - 1; i > from; i--) {
+			int j = from + rng.nextInt(i - from + 1);
+			int temp = arr[i];
+			arr[i] = arr[j];
+			arr[j] = temp;
+		}
+	}
+	
+	/**
+	 * 배열 전체를 제자리에서 무작위로 섞는다. (Fisher-Yates)
+	 * @param arr - 섞을 배열.
+	 */
+	public static void shuffle(long[] arr) {
+		shuffle(arr, 0, arr.length, defaultSource.current());
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 주어진 난수 생성기로 제자리에서 무작위로 섞는다. (Fisher-Yates)
+	 * 새 배열을 만들지 않으며 O(to - from) 시간이 든다.
+	 * @param arr - 섞을 배열.
+	 * @param from - 섞을 구간의 시작 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 섞을 구간의 끝 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void shuffle(long[] arr, int from, int to, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, arr.length);
+		for (int i = to - 1; i > from; i--) {
+			int j = from + rng.nextInt(i - from + 1);
+			long temp = arr[i];
+			arr[i] = arr[j];
+			arr[j] = temp;
+		}
+	}
+	
+	/**
+	 * 배열 전체를 제자리에서 무작위로 섞는다. (Fisher-Yates)
+	 * @param arr - 섞을 배열.
+	 */
+	public static void shuffle(double[] arr) {
+		shuffle(arr, 0, arr.length, defaultSource.current());
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 주어진 난수 생성기로 제자리에서 무작위로 섞는다. (Fisher-Yates)
+	 * 새 배열을 만들지 않으며 O(to - from) 시간이 든다.
+	 * @param arr - 섞을 배열.
+	 * @param from - 섞을 구간의 시작 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 섞을 구간의 끝 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void shuffle(double[] arr, int from, int to, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, arr.length);
+		for (int i = to - 1; i > from; i--) {
+			int j = from + rng.nextInt(i - from + 1);
+			double temp = arr[i];
+			arr[i] = arr[j];
+			arr[j] = temp;
+		}
+	}
+	
+	/**
+	 * 배열 전체를 제자리에서 무작위로 섞는다. (Fisher-Yates)
+	 * @param arr - 섞을 배열.
+	 */
+	public static void shuffle(char[] arr) {
+		shuffle(arr, 0, arr.length, defaultSource.current());
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 주어진 난수 생성기로 제자리에서 무작위로 섞는다. (Fisher-Yates)
+	 * 새 배열을 만들지 않으며 O(to - from) 시간이 든다.
+	 * @param arr - 섞을 배열.
+	 * @param from - 섞을 구간의 시작 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 섞을 구간의 끝 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void shuffle(char[] arr, int from, int to, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, arr.length);
+		for (int i = to - 1; i > from; i--) {
+			int j = from + rng.nextInt(i - from + 1);
+			char temp = arr[i];
+			arr[i] = arr[j];
+			arr[j] = temp;
+		}
+	}
+	
+	/**
+	 * 배열 전체를 제자리에서 무작위로 섞는다. (Fisher-Yates)
+	 * @param arr - 섞을 배열.
+	 */
+	public static void shuffle(Object[] arr) {
+		shuffle(arr, 0, arr.length, defaultSource.current());
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 주어진 난수 생성기로 제자리에서 무작위로 섞는다. (Fisher-Yates)
+	 * 새 배열을 만들지 않으며 O(to - from) 시간이 든다.
+	 * @param arr - 섞을 배열.
+	 * @param from - 섞을 구간의 시작 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 섞을 구간의 끝 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void shuffle(Object[] arr, int from, int to, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, arr.length);
+		for (int i = to - 1; i > from; i--) {
+			int j = from + rng.nextInt(i - from + 1);
+			Object temp = arr[i];
+			arr[i] = arr[j];
+			arr[j] = temp;
+		}
+	}
+	
+	private static void checkStreamSize(long size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("size < 0: " + size);
+		}
+	}
+	
+	/**
+	 * startNum 이상 endNum 이하 범위에 속하는 정수의 개수를 반환.
+	 */
+	private static long checkedSpan(int startNum, int endNum) {
+		if (startNum > endNum) {
+			throw new IllegalArgumentException("startNum > endNum: " + startNum + " > " + endNum);
+		}
+		return (long) endNum - startNum + 1;
 	}
 	
 	/**
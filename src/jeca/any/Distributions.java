@@ -0,0 +1,220 @@
+package jeca.any;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * 균등 분포 외의 확률 분포에서 값을 뽑는 유틸리티 클래스.
+ * (객체 생성 방지해놓음)
+ *
+ * <p>
+ * 정규 분포, 지수 분포, 거듭제곱(power-law) 분포로 기본형 배열을 채우는 메서드와
+ * 가중치에 비례하여 중복 없이 인덱스를 뽑는 메서드(Efraimidis-Spirakis)를 제공한다.
+ * 배열을 채우는 동안에는 객체를 생성하지 않는다.
+ * 가중치로 여러 번 하나씩 뽑을 때는 {@link AliasTable}을,
+ * Zipf 분포는 {@link ZipfSampler}를 사용한다.
+ * </p>
+ *
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ *
+ * @author JeroCaller
+ */
+public class Distributions {
+
+	/**
+	 * 유틸리티로 사용할 것이므로 객체 생성 방지.
+	 */
+	private Distributions() {}
+
+	/**
+	 * 배열의 [from, to) 구간을 정규 분포에서 뽑은 값으로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param mean - 평균.
+	 * @param stddev - 표준편차. 음수가 아니어야 한다.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void fillGaussian(double[] dst, int from, int to, double mean, double stddev, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, dst.length);
+		if (!(stddev >= 0) || Double.isInfinite(stddev)) {
+			throw new IllegalArgumentException("잘못된 표준편차: " + stddev);
+		}
+		for (int i = from; i < to; i++) {
+			dst[i] = mean + stddev * rng.nextGaussian();
+		}
+	}
+
+	/**
+	 * 배열의 [from, to) 구간을 지수 분포에서 뽑은 값으로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param mean - 평균 (= 1 / 발생률). 0보다 커야 한다.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void fillExponential(double[] dst, int from, int to, double mean, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, dst.length);
+		if (!(mean > 0) || Double.isInfinite(mean)) {
+			throw new IllegalArgumentException("잘못된 평균: " + mean);
+		}
+		for (int i = from; i < to; i++) {
+			dst[i] = mean * rng.nextExponential();
+		}
+	}
+
+	/**
+	 * 배열의 [from, to) 구간을 [min, max] 구간의 거듭제곱 분포에서 뽑은 값으로 채운다.
+	 * 확률 밀도는 x^(-alpha)에 비례하며, 역함수 방법으로 난수 하나당 값 하나를 만든다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param alpha - 지수.
+	 * @param min - 가장 작은 값. 0보다 커야 한다.
+	 * @param max - 가장 큰 값. min보다 커야 한다.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public static void fillPowerLaw(double[] dst, int from, int to, double alpha, double min, double max, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, dst.length);
+		if (!(min > 0) || !(min < max) || Double.isInfinite(max) || !Double.isFinite(alpha)) {
+			throw new IllegalArgumentException(
+					"잘못된 인자: alpha=" + alpha + ", min=" + min + ", max=" + max);
+		}
+
+		if (Math.abs(alpha - 1.0) < 1e-12) {
+			double logRatio = Math.log(max / min);
+			for (int i = from; i < to; i++) {
+				dst[i] = Math.min(max, min * Math.exp(rng.nextDouble() * logRatio));
+			}
+			return;
+		}
+
+		double oneMinusAlpha = 1.0 - alpha;
+		double lowPow = Math.pow(min, oneMinusAlpha);
+		double widthPow = Math.pow(max, oneMinusAlpha) - lowPow;
+		double inverseExp = 1.0 / oneMinusAlpha;
+		for (int i = from; i < to; i++) {
+			double x = Math.pow(lowPow + rng.nextDouble() * widthPow, inverseExp);
+			dst[i] = Math.max(min, Math.min(max, x));
+		}
+	}
+
+	/**
+	 * 가중치에 비례하는 확률로 인덱스 k개를 중복 없이 뽑는다. (Efraimidis-Spirakis A-Res)
+	 *
+	 * <p>
+	 * 각 인덱스마다 log(u) / weight 키를 만들고, 크기 k의 최소 힙으로
+	 * 키가 가장 큰 k개를 고른다. 가중치 배열을 한 번만 훑으며 O(n log k) 시간이 든다.
+	 * 가중치가 0 이하인 인덱스는 뽑히지 않는다.
+	 * </p>
+	 *
+	 * @param weights - 각 인덱스의 가중치.
+	 * @param k - 뽑을 개수.
+	 * @param rng - 사용할 난수 생성기.
+	 * @return 뽑힌 인덱스 배열. 가중치를 하나씩 뽑아 나간 순서와 같은 분포의 순서로 정렬되어 있다.
+	 * 가중치가 양수인 인덱스가 k개보다 적으면 그 개수만큼만 반환한다.
+	 */
+	public static int[] sampleWeightedNoDup(double[] weights, int k, RandomGenerator rng) {
+		int[] idx = new int[k];
+		int count = sampleWeightedNoDup(weights, k, idx, new double[k], rng);
+		if (count == k) {
+			return idx;
+		}
+		int[] result = new int[count];
+		System.arraycopy(idx, 0, result, 0, count);
+		return result;
+	}
+
+	/**
+	 * 가중치에 비례하는 확률로 인덱스 k개를 중복 없이 뽑아 dst 앞쪽에 기록한다.
+	 * 작업용 배열을 재사용하므로 반복 호출해도 새 객체를 만들지 않는다.
+	 *
+	 * @param weights - 각 인덱스의 가중치.
+	 * @param k - 뽑을 개수.
+	 * @param dst - 결과 인덱스를 기록할 배열. 길이가 k 이상이어야 한다.
+	 * @param keyScratch - 작업용 배열. 길이가 k 이상이어야 한다.
+	 * @param rng - 사용할 난수 생성기.
+	 * @return 실제로 뽑힌 인덱스 개수.
+	 * @see #sampleWeightedNoDup(double[], int, RandomGenerator)
+	 */
+	public static int sampleWeightedNoDup(double[] weights, int k, int[] dst, double[] keyScratch, RandomGenerator rng) {
+		if (k < 0 || dst.length < k || keyScratch.length < k) {
+			throw new IllegalArgumentException("k 또는 배열 길이가 올바르지 않습니다: k=" + k);
+		}
+		int size = 0;
+
+		for (int i = 0; i < weights.length; i++) {
+			double w = weights[i];
+			if (!(w > 0)) {
+				continue;
+			}
+			// u는 (0, 1] 범위. 키가 클수록 먼저 뽑힌 것과 같다.
+			double key = Math.log(1.0 - rng.nextDouble()) / w;
+
+			if (size < k) {
+				dst[size] = i;
+				keyScratch[size] = key;
+				siftUp(keyScratch, dst, size++);
+			} else if (k > 0 && key > keyScratch[0]) {
+				keyScratch[0] = key;
+				dst[0] = i;
+				siftDown(keyScratch, dst, 0, size);
+			}
+		}
+
+		// 힙을 뒤에서부터 꺼내 키가 큰 순서로 정렬한다.
+		for (int end = size - 1; end > 0; end--) {
+			swap(keyScratch, dst, 0, end);
+			siftDown(keyScratch, dst, 0, end);
+		}
+		return size;
+	}
+
+	private static void siftUp(double[] keys, int[] idx, int i) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (keys[parent] <= keys[i]) {
+				break;
+			}
+			swap(keys, idx, parent, i);
+			i = parent;
+		}
+	}
+
+	private static void siftDown(double[] keys, int[] idx, int i, int size) {
+		while (true) {
+			int left = 2 * i + 1;
+			if (left >= size) {
+				break;
+			}
+			int smallest = left;
+			int right = left + 1;
+			if (right < size && keys[right] < keys[left]) {
+				smallest = right;
+			}
+			if (keys[i] <= keys[smallest]) {
+				break;
+			}
+			swap(keys, idx, i, smallest);
+			i = smallest;
+		}
+	}
+
+	private static void swap(double[] keys, int[] idx, int a, int b) {
+		double tk = keys[a];
+		keys[a] = keys[b];
+		keys[b] = tk;
+		int ti = idx[a];
+		idx[a] = idx[b];
+		idx[b] = ti;
+	}
+
+}
@@ -0,0 +1,377 @@
+package jeca.any;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * 점수가 계속 바뀌는 상황에서 순위를 바로 조회하기 위한 순위표 클래스.
+ *
+ * <p>
+ * {@link Rank#getRank(int[])}는 점수 하나만 바뀌어도 전체를 다시 계산해야 하지만,
+ * 이 클래스는 점수 범위 위의 펜윅 트리(Fenwick tree)로 점수별 인원 수를 관리하므로
+ * 점수 갱신과 순위 조회가 모두 O(log D)이다. (D = 점수 범위의 크기)
+ * 같은 점수의 id들은 점수별 연결 리스트에 담기며,
+ * 상위 k명 조회는 O(k + 건너뛴 점수 구간 수 * log D)이다.
+ * </p>
+ *
+ * <p>
+ * id는 0 이상 capacity 미만의 정수이고, 점수는 생성 시 정한 범위 안의 정수여야 한다.
+ * 순위는 내림차순이며, 동점자는 같은 순위를 받는다. ({@link Rank.TiePolicy#MIN})
+ * 상위 목록에서 동점자끼리는 그 점수에 먼저 도달한 id가 앞에 온다.
+ * 이 클래스는 스레드 안전하지 않다. 여러 스레드가 함께 사용할 때는
+ * {@link ConcurrentLeaderboard}를 사용한다.
+ * </p>
+ *
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * Leaderboard board = new Leaderboard(1000, 0, 100_000);
+ * board.setScore(7, 5200);
+ * board.setScore(3, 8100);
+ * int rank = board.rankOf(7);     // 2
+ * int[] top = board.topK(10);     // {3, 7}
+ * </code>
+ * </pre>
+ *
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ *
+ * @author JeroCaller
+ */
+public class Leaderboard {
+	private static final int NONE = -1;
+
+	private final int minScore;
+	private final int maxScore;
+	private final int domain;
+	private final int topStep;
+
+	/** 펜윅 트리. 1부터 domain까지 사용하며, 버킷 b는 점수 minScore + b - 1을 뜻한다. */
+	private final int[] tree;
+	private final int[] head;
+	private final int[] tail;
+
+	private final int[] scores;
+	private final boolean[] present;
+	private final int[] next;
+	private final int[] prev;
+	private int size;
+
+	/**
+	 * @param capacity - 등록할 수 있는 id의 개수. id는 0 이상 capacity 미만이어야 한다.
+	 * @param minScore - 가능한 가장 낮은 점수. 해당 점수도 포함됨.
+	 * @param maxScore - 가능한 가장 높은 점수. 해당 점수도 포함됨.
+	 * @throws IllegalArgumentException 인자가 올바르지 않은 경우.
+	 */
+	public Leaderboard(int capacity, int minScore, int maxScore) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity < 0: " + capacity);
+		}
+		long span = (long) maxScore - minScore + 1;
+		if (span <= 0 || span >= Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(
+					"잘못된 점수 범위: [" + minScore + ", " + maxScore + "]");
+		}
+		this.minScore = minScore;
+		this.maxScore = maxScore;
+		domain = (int) span;
+		topStep = Integer.highestOneBit(domain);
+
+		tree = new int[domain + 1];
+		head = new int[domain + 1];
+		tail = new int[domain + 1];
+		Arrays.fill(head, NONE);
+		Arrays.fill(tail, NONE);
+
+		scores = new int[capacity];
+		present = new boolean[capacity];
+		next = new int[capacity];
+		prev = new int[capacity];
+	}
+
+	/**
+	 * id의 점수를 등록하거나 갱신한다. O(log D)
+	 * @param id - 0 이상 capacity 미만의 id.
+	 * @param score - 새 점수.
+	 * @throws IllegalArgumentException id나 점수가 범위를 벗어난 경우.
+	 */
+	public void setScore(int id, int score) {
+		checkId(id);
+		if (score < minScore || score > maxScore) {
+			throw new IllegalArgumentException(
+					"점수가 범위를 벗어났습니다: " + score + " (범위: " + minScore + " ~ " + maxScore + ")");
+		}
+		if (present[id]) {
+			if (scores[id] == score) {
+				return;
+			}
+			unlink(id);
+		} else {
+			present[id] = true;
+			size++;
+		}
+		scores[id] = score;
+		link(id);
+	}
+
+	/**
+	 * 순위표에서 id를 제거한다. O(log D)
+	 * @param id - 제거할 id.
+	 * @return 제거되었으면 true, 원래 없었으면 false.
+	 */
+	public boolean remove(int id) {
+		checkId(id);
+		if (!present[id]) {
+			return false;
+		}
+		unlink(id);
+		present[id] = false;
+		size--;
+		return true;
+	}
+
+	/**
+	 * id가 순위표에 등록되어 있는지 확인.
+	 * @param id - 확인할 id.
+	 * @return boolean
+	 */
+	public boolean contains(int id) {
+		checkId(id);
+		return present[id];
+	}
+
+	/**
+	 * id의 현재 점수를 반환.
+	 * @param id - 조회할 id.
+	 * @return int
+	 * @throws NoSuchElementException id가 등록되어 있지 않은 경우.
+	 */
+	public int getScore(int id) {
+		checkId(id);
+		if (!present[id]) {
+			throw new NoSuchElementException("등록되지 않은 id: " + id);
+		}
+		return scores[id];
+	}
+
+	/**
+	 * 등록된 id의 개수를 반환.
+	 * @return int
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * id의 현재 순위를 반환. (1 + 자신보다 점수가 높은 id의 수) O(log D)
+	 * @param id - 조회할 id.
+	 * @return 1 이상의 순위. 등록되지 않은 id이면 -1.
+	 */
+	public int rankOf(int id) {
+		checkId(id);
+		if (!present[id]) {
+			return -1;
+		}
+		return 1 + countAboveScore(scores[id]);
+	}
+
+	/**
+	 * 주어진 점수보다 높은 점수를 가진 id의 수를 반환. O(log D)
+	 * @param score - 기준 점수.
+	 * @return int
+	 */
+	public int countAbove(int score) {
+		return countAboveScore(score);
+	}
+
+	/**
+	 * 하위 클래스가 재정의한 {@link #countAbove(int)}를 거치지 않고 직접 계산한다.
+	 */
+	private int countAboveScore(int score) {
+		if (score < minScore) {
+			return size;
+		}
+		if (score >= maxScore) {
+			return 0;
+		}
+		return size - prefix(score - minScore + 1);
+	}
+
+	/**
+	 * 점수가 [lowScore, highScore] 범위에 있는 id의 수를 반환. O(log D)
+	 * @param lowScore - 범위의 시작 점수. 해당 점수도 포함됨.
+	 * @param highScore - 범위의 끝 점수. 해당 점수도 포함됨.
+	 * @return int
+	 */
+	public int countInScoreRange(int lowScore, int highScore) {
+		int lo = Math.max(lowScore, minScore);
+		int hi = Math.min(highScore, maxScore);
+		if (lo > hi) {
+			return 0;
+		}
+		return prefix(hi - minScore + 1) - prefix(lo - minScore);
+	}
+
+	/**
+	 * 점수가 높은 순으로 상위 k개의 id를 반환.
+	 * @param k - 조회할 개수.
+	 * @return 상위 id 배열. 등록된 id가 k개보다 적으면 등록된 개수만큼만 반환.
+	 */
+	public int[] topK(int k) {
+		return getIdsByPosition(1, k);
+	}
+
+	/**
+	 * 점수가 높은 순으로 줄을 세웠을 때 fromPosition번째부터 count개의 id를 반환.
+	 * 동점자도 서로 다른 위치를 차지한다.
+	 * @param fromPosition - 1부터 시작하는 시작 위치.
+	 * @param count - 조회할 개수.
+	 * @return id 배열. 해당 위치 이후의 id가 count개보다 적으면 그만큼만 반환.
+	 */
+	public int[] getIdsByPosition(int fromPosition, int count) {
+		return readIdsByPosition(fromPosition, count);
+	}
+
+	/**
+	 * {@link #getIdsByPosition(int, int)}의 본체. 
+	 * 잠금 없이 읽는 도중 쓰기가 끼어들어 자료가 어긋나 보이면 null을 반환한다. 
+	 * 어긋난 자료를 읽더라도 배열 범위를 벗어나거나 끝나지 않는 일이 없도록 
+	 * 인원 수를 한 번만 읽고, 방문하는 id 수와 버킷을 검사한다.
+	 */
+	int[] readIdsByPosition(int fromPosition, int count) {
+		if (fromPosition < 1 || count < 0) {
+			throw new IllegalArgumentException(
+					"잘못된 인자: fromPosition=" + fromPosition + ", count=" + count);
+		}
+		int total = size;
+		int available = Math.max(0, total - fromPosition + 1);
+		int[] result = new int[Math.min(count, available)];
+		if (result.length == 0) {
+			return result;
+		}
+
+		// fromPosition번째는 아래에서부터 세면 (total - fromPosition + 1)번째이다.
+		int target = total - fromPosition + 1;
+		int bucket = findByPrefix(target);
+		if (bucket > domain) {
+			return null;
+		}
+		int skip = fromPosition - (total - prefix(bucket) + 1);
+		if (skip < 0) {
+			return null;
+		}
+		int filled = 0;
+		int visited = 0;
+
+		while (true) {
+			for (int id = head[bucket]; id != NONE && filled < result.length; id = next[id]) {
+				if (id < 0 || id >= next.length || ++visited > total) {
+					return null;
+				}
+				if (skip > 0) {
+					skip--;
+					continue;
+				}
+				result[filled++] = id;
+			}
+			if (filled == result.length) {
+				return result;
+			}
+			int below = bucket > 1 ? prefix(bucket - 1) : 0;
+			if (below <= 0) {
+				return null;
+			}
+			int lower = findByPrefix(below);
+			if (lower >= bucket) {
+				return null;
+			}
+			bucket = lower;
+		}
+	}
+
+	/**
+	 * 잠금 없이 읽을 때 사용하는 점수 조회. 등록 여부를 확인하지 않는다.
+	 */
+	int rawScore(int id) {
+		return scores[id];
+	}
+
+	private void checkId(int id) {
+		if (id < 0 || id >= scores.length) {
+			throw new IllegalArgumentException("id가 범위를 벗어났습니다: " + id);
+		}
+	}
+
+	private void link(int id) {
+		int bucket = scores[id] - minScore + 1;
+		int last = tail[bucket];
+		prev[id] = last;
+		next[id] = NONE;
+		if (last == NONE) {
+			head[bucket] = id;
+		} else {
+			next[last] = id;
+		}
+		tail[bucket] = id;
+		add(bucket, 1);
+	}
+
+	private void unlink(int id) {
+		int bucket = scores[id] - minScore + 1;
+		int before = prev[id];
+		int after = next[id];
+		if (before == NONE) {
+			head[bucket] = after;
+		} else {
+			next[before] = after;
+		}
+		if (after == NONE) {
+			tail[bucket] = before;
+		} else {
+			prev[after] = before;
+		}
+		add(bucket, -1);
+	}
+
+	private void add(int bucket, int delta) {
+		for (int i = bucket; i <= domain; i += i & -i) {
+			tree[i] += delta;
+		}
+	}
+
+	/**
+	 * 버킷 1부터 bucket까지의 인원 수.
+	 */
+	private int prefix(int bucket) {
+		int sum = 0;
+		for (int i = bucket; i > 0; i -= i & -i) {
+			sum += tree[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * 누적 인원 수가 target 이상이 되는 가장 작은 버킷. target은 1 이상 size 이하여야 한다.
+	 */
+	private int findByPrefix(int target) {
+		int pos = 0;
+		for (int step = topStep; step > 0; step >>= 1) {
+			int candidate = pos + step;
+			if (candidate <= domain && tree[candidate] < target) {
+				pos = candidate;
+				target -= tree[candidate];
+			}
+		}
+		return pos + 1;
+	}
+
+}
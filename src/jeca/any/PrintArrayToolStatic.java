@@ -1,8 +1,10 @@
 package jeca.any;
-import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * 배열을 모두 출력하기 위한 유틸리티 클래스.
+ * 출력 내용은 {@link ArrayPrinter}의 버퍼에 모았다가 한 번에 System.out으로 내보내므로 
+ * 큰 배열도 원소마다 출력하지 않는다. 
  * 
  * <div>
  * 제작자 정보
@@ -24,24 +26,133 @@ public class PrintArrayToolStatic {
 	 */
 	private PrintArrayToolStatic() {}
 	
+	private static volatile PrintOptions options = PrintOptions.FULL;
+	
+	/**
+	 * 큰 배열을 요약하여 출력하거나 줄 너비를 제한하도록 설정한다. 
+	 * 기본값은 배열 전체를 한 줄로 출력하는 {@link PrintOptions#FULL}.
+	 * @param options - 출력 설정. 예) {@link PrintOptions#SUMMARY}
+	 */
+	public static void setPrintOptions(PrintOptions options) {
+		PrintArrayToolStatic.options = Objects.requireNonNull(options, "options");
+	}
+	
 	public static void printArray(int[] arr) {
-		System.out.println(Arrays.toString(arr));
+		printer().printArray(arr);
+	}
+	
+	/**
+	 * 배열의 [offset, offset + length) 구간만 출력한다.
+	 */
+	public static void printArray(int[] arr, int offset, int length) {
+		printer().printArray(arr, offset, length);
+	}
+	
+	public static void printArray(long[] arr) {
+		printer().printArray(arr);
+	}
+	
+	/**
+	 * 배열의 [offset, offset + length) 구간만 출력한다.
+	 */
+	public static void printArray(long[] arr, int offset, int length) {
+		printer().printArray(arr, offset, length);
+	}
+	
+	public static void printArray(short[] arr) {
+		printer().printArray(arr);
+	}
+	
+	/**
+	 * 배열의 [offset, offset + length) 구간만 출력한다.
+	 */
+	public static void printArray(short[] arr, int offset, int length) {
+		printer().printArray(arr, offset, length);
+	}
+	
+	public static void printArray(byte[] arr) {
+		printer().printArray(arr);
+	}
+	
+	/**
+	 * 배열의 [offset, offset + length) 구간만 출력한다.
+	 */
+	public static void printArray(byte[] arr, int offset, int length) {
+		printer().printArray(arr, offset, length);
 	}
 	
 	public static void printArray(double[] arr) {
-		System.out.println(Arrays.toString(arr));
+		printer().printArray(arr);
+	}
+	
+	/**
+	 * 배열의 [offset, offset + length) 구간만 출력한다.
+	 */
+	public static void printArray(double[] arr, int offset, int length) {
+		printer().printArray(arr, offset, length);
+	}
+	
+	public static void printArray(float[] arr) {
+		printer().printArray(arr);
+	}
+	
+	/**
+	 * 배열의 [offset, offset + length) 구간만 출력한다.
+	 */
+	public static void printArray(float[] arr, int offset, int length) {
+		printer().printArray(arr, offset, length);
 	}
 	
 	public static void printArray(char[] arr) {
-		System.out.println(Arrays.toString(arr));
+		printer().printArray(arr);
+	}
+	
+	/**
+	 * 배열의 [offset, offset + length) 구간만 출력한다.
+	 */
+	public static void printArray(char[] arr, int offset, int length) {
+		printer().printArray(arr, offset, length);
+	}
+	
+	public static void printArray(boolean[] arr) {
+		printer().printArray(arr);
+	}
+	
+	/**
+	 * 배열의 [offset, offset + length) 구간만 출력한다.
+	 */
+	public static void printArray(boolean[] arr, int offset, int length) {
+		printer().printArray(arr, offset, length);
 	}
 	
 	public static void printArray(String[] arr) {
-		System.out.println("{");
-		for (String oneStr : arr) {
-			System.out.println("    " + "\"" + oneStr + "\",");
-		}
-		System.out.println("}");
+		printer().printArray(arr);
+	}
+	
+	public static void printArray(int[][] arr) {
+		printer().printArray(arr);
+	}
+	
+	public static void printArray(long[][] arr) {
+		printer().printArray(arr);
+	}
+	
+	public static void printArray(double[][] arr) {
+		printer().printArray(arr);
+	}
+	
+	public static void printArray(String[][] arr) {
+		printer().printArray(arr);
+	}
+	
+	public static void printArray(int[][][] arr) {
+		printer().printArray(arr);
+	}
+	
+	private static ArrayPrinter printer() {
+		ArrayPrinter printer = ArrayPrinter.stdout();
+		printer.setOptions(options);
+		return printer;
 	}
 	
 }
@@ -0,0 +1,86 @@
+package jeca.any;
+
+/**
+ * 배열을 출력할 때 큰 배열을 요약하는 방식과 줄 너비를 정하는 설정. 
+ * NumPy의 출력 설정(threshold, edgeitems, linewidth)과 같은 의미이다.
+ *
+ * <p>
+ * 원소 수가 threshold를 넘는 배열은 앞뒤 edgeItems개씩만 출력하고 
+ * 가운데는 "..."로 줄여서 출력한다. 이 때 실제로 출력하는 원소만 읽으므로 
+ * 배열이 아무리 커도 출력 비용은 edgeItems에 비례한다. 
+ * lineWidth가 0보다 크면 1차원 배열의 한 줄이 그 너비를 넘지 않도록 줄을 바꾼다.
+ * </p>
+ *
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * PrintArrayToolStatic.setPrintOptions(new PrintOptions(100, 3, 80));
+ * PrintArrayToolStatic.printArray(new int[1_000_000]);   // [0, 0, 0, ..., 0, 0, 0]
+ * </code>
+ * </pre>
+ *
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ *
+ * @author JeroCaller
+ */
+public final class PrintOptions {
+	/**
+	 * 요약하지 않고 줄도 바꾸지 않는 설정. 출력 도구의 기본값이다.
+	 */
+	public static final PrintOptions FULL = new PrintOptions(Integer.MAX_VALUE, 3, 0);
+
+	/**
+	 * NumPy의 기본값과 같은 설정. (threshold = 1000, edgeItems = 3, lineWidth = 75)
+	 */
+	public static final PrintOptions SUMMARY = new PrintOptions(1000, 3, 75);
+
+	private final int threshold;
+	private final int edgeItems;
+	private final int lineWidth;
+
+	/**
+	 * @param threshold - 원소 수가 이 값을 넘으면 요약하여 출력한다.
+	 * @param edgeItems - 요약할 때 앞과 뒤에서 각각 출력할 원소 수.
+	 * @param lineWidth - 1차원 배열 출력의 최대 줄 너비. (문자 수) 0이면 줄을 바꾸지 않는다.
+	 * @throws IllegalArgumentException 음수가 주어진 경우.
+	 */
+	public PrintOptions(int threshold, int edgeItems, int lineWidth) {
+		if (threshold < 0 || edgeItems < 0 || lineWidth < 0) {
+			throw new IllegalArgumentException("잘못된 출력 설정: threshold=" + threshold 
+					+ ", edgeItems=" + edgeItems + ", lineWidth=" + lineWidth);
+		}
+		this.threshold = threshold;
+		this.edgeItems = edgeItems;
+		this.lineWidth = lineWidth;
+	}
+
+	public int getThreshold() {
+		return threshold;
+	}
+
+	public int getEdgeItems() {
+		return edgeItems;
+	}
+
+	public int getLineWidth() {
+		return lineWidth;
+	}
+
+	@Override
+	public String toString() {
+		return "PrintOptions[threshold=" + threshold + ", edgeItems=" + edgeItems 
+				+ ", lineWidth=" + lineWidth + "]";
+	}
+
+}
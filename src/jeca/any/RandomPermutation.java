@@ -0,0 +1,146 @@
+package jeca.any;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+/**
+ * [0, n) 범위 정수들의 무작위 순열을 배열로 만들지 않고 O(1) 메모리로 제공하는 클래스.
+ * 
+ * <p>
+ * 시드로 만든 라운드 키를 사용하는 Feistel 네트워크로 [0, 2^k) 위의 일대일 대응을 
+ * 만들고, n 이상인 값은 다시 대응시키는 방식(cycle walking)으로 [0, n) 안에 가둔다. 
+ * 따라서 {@link #indexAt(long)}는 같은 시드에서 항상 같은 순열을 주며, 
+ * 수십억 개의 키도 실제로 펼치지 않고 무작위 순서로 방문할 수 있다. 
+ * 상태가 바뀌지 않으므로 여러 스레드가 함께 사용해도 된다.
+ * </p>
+ * 
+ * <p>
+ * 암호학적으로 안전한 순열은 아니며, 테스트 데이터 생성이나 작업 순서 섞기 용도이다.
+ * </p>
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * RandomPermutation perm = new RandomPermutation(5_000_000_000L, 42);
+ * PrimitiveIterator.OfLong it = perm.iterator();
+ * while (it.hasNext()) {
+ *     visit(it.nextLong());
+ * }
+ * </code>
+ * </pre>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public final class RandomPermutation {
+	private static final int ROUNDS = 4;
+	
+	private final long n;
+	private final int halfBits;
+	private final long halfMask;
+	private final long[] roundKeys = new long[ROUNDS];
+	
+	/**
+	 * @param n - 순열의 크기. 0 이상이어야 한다.
+	 * @param seed - 시드. 같은 n과 시드이면 항상 같은 순열이 만들어진다.
+	 */
+	public RandomPermutation(long n, long seed) {
+		if (n < 0) {
+			throw new IllegalArgumentException("n < 0: " + n);
+		}
+		this.n = n;
+		
+		int bits = 64 - Long.numberOfLeadingZeros(Math.max(1, n - 1));
+		bits = Math.max(2, (bits + 1) & ~1);
+		halfBits = bits / 2;
+		halfMask = (1L << halfBits) - 1;
+		
+		for (int r = 0; r < ROUNDS; r++) {
+			roundKeys[r] = SeededSequence.rawAt(seed, r);
+		}
+	}
+	
+	/**
+	 * 순열의 크기를 반환.
+	 * @return long
+	 */
+	public long size() {
+		return n;
+	}
+	
+	/**
+	 * 순열의 i번째 값을 반환.
+	 * @param i - 0 이상 n 미만의 위치.
+	 * @return 0 이상 n 미만의 값. 서로 다른 i에 대해 서로 다른 값이 나온다.
+	 */
+	public long indexAt(long i) {
+		if (i < 0 || i >= n) {
+			throw new IndexOutOfBoundsException("index " + i + " out of bounds for size " + n);
+		}
+		long x = encrypt(i);
+		while (Long.compareUnsigned(x, n) >= 0) {
+			x = encrypt(x);
+		}
+		return x;
+	}
+	
+	/**
+	 * 순열을 처음부터 차례로 돌려주는 반복자를 반환.
+	 * @return PrimitiveIterator.OfLong
+	 */
+	public PrimitiveIterator.OfLong iterator() {
+		return new PrimitiveIterator.OfLong() {
+			private long next = 0;
+			
+			@Override
+			public boolean hasNext() {
+				return next < n;
+			}
+			
+			@Override
+			public long nextLong() {
+				if (next >= n) {
+					throw new NoSuchElementException();
+				}
+				return indexAt(next++);
+			}
+		};
+	}
+	
+	/**
+	 * 순열 전체를 스트림으로 반환. parallel()로 병렬 처리해도 같은 값이 나온다.
+	 * @return LongStream
+	 */
+	public LongStream stream() {
+		return LongStream.range(0, n).map(this::indexAt);
+	}
+	
+	/**
+	 * [0, 2^(2 * halfBits)) 위의 일대일 대응.
+	 */
+	private long encrypt(long x) {
+		long left = (x >>> halfBits) & halfMask;
+		long right = x & halfMask;
+		
+		for (int r = 0; r < ROUNDS; r++) {
+			long f = SeededSequence.mix64(right ^ roundKeys[r]) & halfMask;
+			long nextRight = left ^ f;
+			left = right;
+			right = nextRight;
+		}
+		return (left << halfBits) | right;
+	}
+	
+}
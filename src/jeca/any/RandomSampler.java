@@ -0,0 +1,247 @@
+package jeca.any;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.random.RandomGenerator;
+
+/**
+ * 정수 범위에서 중복 없이 무작위 표본을 뽑는 샘플링 엔진.
+ * (객체 생성 방지해놓음)
+ *
+ * <p>
+ * 범위의 크기와 뽑을 개수의 비율에 따라 알고리즘을 자동으로 선택한다.
+ * </p>
+ * <ul>
+ * <li>
+ *     범위가 뽑을 개수에 비해 충분히 큰 경우 (희소) - Floyd 알고리즘과
+ *     기본형 해시 집합을 사용한다. 범위 크기와 무관하게 O(len)의 시간과 메모리를 사용.
+ *     뽑을 개수가 2^29개를 넘으면 해시 집합 대신 범위 위의 비트맵을 사용한다.
+ * </li>
+ * <li>
+ *     범위가 뽑을 개수와 비슷한 경우 (조밀) - int[] 위에서 부분 Fisher-Yates
+ *     셔플을 수행한다. 이 경우 범위 크기 자체가 O(len)이다.
+ * </li>
+ * </ul>
+ * 크기를 미리 알 수 없는 정수 흐름에서 뽑을 때는
+ * {@link #sampleReservoir(PrimitiveIterator.OfInt, int, RandomGenerator)}를 사용한다.
+ * 어느 경우에도 정수를 박싱하지 않는다.
+ *
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ *
+ * @author JeroCaller
+ */
+public class RandomSampler {
+
+	/**
+	 * 범위 크기가 뽑을 개수의 이 배수 이하이면 조밀한 것으로 보고
+	 * 부분 Fisher-Yates 셔플을 사용한다.
+	 */
+	static final int DENSE_RATIO = 4;
+
+	/**
+	 * int[]로 펼칠 수 있는 가장 큰 범위 크기. (VM의 배열 길이 제한)
+	 */
+	private static final int MAX_DENSE_RANGE = Integer.MAX_VALUE - 8;
+
+	/**
+	 * 희소한 경우 해시 집합을 쓸 수 있는 최대 개수.
+	 * 이보다 많으면 해시 테이블 크기가 int 범위를 넘으므로 범위 위의 비트맵을 사용한다.
+	 */
+	private static final int MAX_HASHED_SAMPLES = 1 << 29;
+
+	/**
+	 * 유틸리티로 사용할 것이므로 객체 생성 방지.
+	 */
+	private RandomSampler() {}
+
+	/**
+	 * startNum부터 endNum까지의 정수들 중 len개를 중복되지 않게 무작위로 뽑아
+	 * 무작위 순서의 배열로 반환.
+	 *
+	 * @param len - 무작위로 뽑을 숫자 개수. 범위의 크기보다 크면 범위의 크기만큼만 뽑는다.
+	 * @param startNum - 범위의 시작 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param endNum - 범위의 끝 숫자. 해당 숫자도 범위에 포함됨.
+	 * @param rng - 사용할 난수 생성기.
+	 * @return int[]
+	 */
+	public static int[] sampleNoDup(int len, int startNum, int endNum, RandomGenerator rng) {
+		long range = (long) endNum - startNum + 1;
+		if (range < 0) {
+			range = 0;
+		}
+		if (range < len) {
+			len = (int) range;
+		}
+
+		if (range <= MAX_DENSE_RANGE && range <= (long) len * DENSE_RATIO) {
+			return sampleDense(len, startNum, (int) range, rng);
+		}
+		return sampleSparse(len, startNum, range, rng);
+	}
+
+	/**
+	 * 크기를 미리 알 수 없는 정수 흐름에서 len개를 균등한 확률로 뽑는다.
+	 * (저수지 샘플링, Algorithm R)
+	 *
+	 * <p>
+	 * 흐름 전체를 한 번만 훑으며, 메모리는 O(len)만 사용한다.
+	 * 흐름 안에서 같은 값이 여러 번 나오면 결과에도 여러 번 나올 수 있다.
+	 * 반환되는 배열의 순서는 무작위가 아니므로 필요하면 따로 섞어야 한다.
+	 * </p>
+	 *
+	 * @param source - 표본을 뽑을 정수 흐름.
+	 * @param len - 뽑을 개수.
+	 * @param rng - 사용할 난수 생성기.
+	 * @return 뽑힌 정수들의 배열. 흐름의 원소가 len개보다 적으면 흐름의 모든 원소를 반환.
+	 */
+	public static int[] sampleReservoir(PrimitiveIterator.OfInt source, int len, RandomGenerator rng) {
+		int[] reservoir = new int[len];
+		long seen = 0;
+
+		while (source.hasNext()) {
+			int value = source.nextInt();
+			if (seen < len) {
+				reservoir[(int) seen] = value;
+			} else {
+				long j = rng.nextLong(seen + 1);
+				if (j < len) {
+					reservoir[(int) j] = value;
+				}
+			}
+			seen++;
+		}
+
+		if (seen < len) {
+			int[] result = new int[(int) seen];
+			System.arraycopy(reservoir, 0, result, 0, (int) seen);
+			return result;
+		}
+		return reservoir;
+	}
+
+	/**
+	 * 범위 전체를 int[]로 펼친 뒤 앞쪽 len칸만 Fisher-Yates 방식으로 섞는다.
+	 */
+	private static int[] sampleDense(int len, int startNum, int range, RandomGenerator rng) {
+		int[] pool = new int[range];
+		for (int i = 0; i < range; i++) {
+			pool[i] = startNum + i;
+		}
+
+		for (int i = 0; i < len; i++) {
+			int j = i + rng.nextInt(range - i);
+			int temp = pool[i];
+			pool[i] = pool[j];
+			pool[j] = temp;
+		}
+
+		if (len == range) {
+			return pool;
+		}
+		int[] result = new int[len];
+		System.arraycopy(pool, 0, result, 0, len);
+		return result;
+	}
+
+	/**
+	 * Floyd 알고리즘으로 범위 [0, range) 내 오프셋 len개를 고른 뒤
+	 * 결과의 순서를 섞는다.
+	 */
+	private static int[] sampleSparse(int len, int startNum, long range, RandomGenerator rng) {
+		int[] result = new int[len];
+		OffsetSet chosen = len <= MAX_HASHED_SAMPLES ? new LongHashSet(len) : new OffsetBitmap(range);
+		int count = 0;
+
+		for (long j = range - len; j < range; j++) {
+			long t = rng.nextLong(j + 1);
+			if (!chosen.add(t)) {
+				chosen.add(j);
+				t = j;
+			}
+			result[count++] = (int) (startNum + t);
+		}
+
+		// Floyd 알고리즘이 만드는 집합은 균등하지만 삽입 순서는 그렇지 않으므로 섞어준다.
+		CustomRandom.shuffle(result, 0, len, rng);
+		return result;
+	}
+
+	/**
+	 * Floyd 알고리즘에서 이미 고른 오프셋을 기록하는 집합.
+	 */
+	private interface OffsetSet {
+		/**
+		 * @return 새로 추가되었으면 true, 이미 있었으면 false.
+		 */
+		boolean add(long key);
+	}
+
+	/**
+	 * 음이 아닌 long 값만 담는 개방 주소법 해시 집합.
+	 * 빈 칸은 -1로 표시한다.
+	 */
+	private static final class LongHashSet implements OffsetSet {
+		private final long[] table;
+		private final int mask;
+
+		LongHashSet(int expected) {
+			int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+			table = new long[capacity];
+			mask = capacity - 1;
+			Arrays.fill(table, -1L);
+		}
+
+		@Override
+		public boolean add(long key) {
+			int i = mix(key) & mask;
+			while (true) {
+				long cur = table[i];
+				if (cur == -1L) {
+					table[i] = key;
+					return true;
+				}
+				if (cur == key) {
+					return false;
+				}
+				i = (i + 1) & mask;
+			}
+		}
+
+		private static int mix(long key) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32));
+		}
+	}
+
+	/**
+	 * 범위 [0, range)의 오프셋마다 한 비트를 쓰는 집합.
+	 * int 범위 전체(2^32)도 512MB로 담을 수 있어, 뽑을 개수가 매우 많을 때 사용한다.
+	 */
+	private static final class OffsetBitmap implements OffsetSet {
+		private final long[] words;
+
+		OffsetBitmap(long range) {
+			words = new long[(int) ((range + 63) >>> 6)];
+		}
+
+		@Override
+		public boolean add(long key) {
+			int index = (int) (key >>> 6);
+			long bit = 1L << key;
+			if ((words[index] & bit) != 0) {
+				return false;
+			}
+			words[index] |= bit;
+			return true;
+		}
+	}
+
+}
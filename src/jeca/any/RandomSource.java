@@ -0,0 +1,133 @@
+package jeca.any;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * {@link CustomRandom}이 사용할 난수 생성기를 스레드별로 제공하는 클래스.
+ *
+ * <p>
+ * 하나의 java.util.Random 객체를 여러 스레드가 공유하면 시드 갱신(CAS) 경쟁 때문에
+ * 스레드 수가 늘수록 처리량이 떨어진다. 이 클래스는 호출한 스레드 전용 생성기를
+ * {@link #current()}로 돌려주므로 스레드끼리 경쟁하지 않는다.
+ * </p>
+ *
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * // 모든 CustomRandom 메서드의 기본 생성기 변경
+ * CustomRandom.setDefaultSource(RandomSource.algorithm("L64X128MixRandom"));
+ *
+ * // 호출 지점마다 따로 지정
+ * int[] nums = CustomRandom.getRandomNums(10, 1, 100, RandomSource.threadLocal().current());
+ * </code>
+ * </pre>
+ *
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ *
+ * @author JeroCaller
+ */
+public final class RandomSource {
+	private static final RandomSource SHARED = new RandomSource("Random(shared)", () -> CustomRandom.rand);
+	private static final RandomSource THREAD_LOCAL = new RandomSource("ThreadLocalRandom", ThreadLocalRandom::current);
+
+	private final String name;
+	private final Supplier<RandomGenerator> supplier;
+
+	private RandomSource(String name, Supplier<RandomGenerator> supplier) {
+		this.name = name;
+		this.supplier = supplier;
+	}
+
+	/**
+	 * 모든 스레드가 하나의 java.util.Random 객체를 공유하는 기존 방식.
+	 * 스레드 안전하지만 스레드가 많으면 경쟁이 심하다.
+	 * @return RandomSource
+	 */
+	public static RandomSource shared() {
+		return SHARED;
+	}
+
+	/**
+	 * {@link ThreadLocalRandom}을 사용한다. 시드를 지정할 수 없는 대신 가장 가볍다.
+	 * @return RandomSource
+	 */
+	public static RandomSource threadLocal() {
+		return THREAD_LOCAL;
+	}
+
+	/**
+	 * 무작위 시드의 {@link SplittableRandom}을 스레드마다 하나씩 분할(split)하여 사용한다.
+	 * @return RandomSource
+	 */
+	public static RandomSource splittable() {
+		return splittable(new SplittableRandom());
+	}
+
+	/**
+	 * 주어진 시드의 {@link SplittableRandom}을 스레드마다 하나씩 분할(split)하여 사용한다.
+	 *
+	 * <p>
+	 * 각 스레드가 받는 생성기는 해당 스레드가 처음 {@link #current()}를 호출한
+	 * 순서에 따라 정해진다. 작업 단위로 재현성이 필요하다면
+	 * 작업마다 {@link SplittableRandom#split()}한 객체를 직접 넘기는 편이 낫다.
+	 * </p>
+	 *
+	 * @param seed - 최상위 생성기의 시드.
+	 * @return RandomSource
+	 */
+	public static RandomSource splittable(long seed) {
+		return splittable(new SplittableRandom(seed));
+	}
+
+	private static RandomSource splittable(SplittableRandom root) {
+		ThreadLocal<RandomGenerator> local = ThreadLocal.withInitial(() -> {
+			synchronized (root) {
+				return root.split();
+			}
+		});
+		return new RandomSource("SplittableRandom", local::get);
+	}
+
+	/**
+	 * JDK 17부터 제공되는 {@link RandomGeneratorFactory}의 알고리즘을
+	 * 스레드마다 하나씩 생성하여 사용한다.
+	 *
+	 * @param algorithmName - 알고리즘 이름. 예) "L64X128MixRandom", "Xoshiro256PlusPlus"
+	 * @return RandomSource
+	 * @throws IllegalArgumentException 해당 이름의 알고리즘을 찾을 수 없는 경우.
+	 */
+	public static RandomSource algorithm(String algorithmName) {
+		RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(algorithmName);
+		ThreadLocal<RandomGenerator> local = ThreadLocal.withInitial(factory::create);
+		return new RandomSource(algorithmName, local::get);
+	}
+
+	/**
+	 * 이 메서드를 호출한 스레드가 사용할 난수 생성기를 반환.
+	 * {@link #shared()}를 제외하면 반환된 객체를 다른 스레드에 넘겨 사용해서는 안 된다.
+	 * @return RandomGenerator
+	 */
+	public RandomGenerator current() {
+		return supplier.get();
+	}
+
+	@Override
+	public String toString() {
+		return "RandomSource[" + name + "]";
+	}
+
+}
@@ -1,27 +1,820 @@
 package jeca.any;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * 배열 요소들의 순위를 매기는 클래스.
+ *
+ * <p>
+ * 인덱스 순열을 한 번 정렬하여 O(n log n)에 모든 순위를 구한다.
+ * 동점자 처리 방식은 {@link TiePolicy}로, 정렬 방향은 {@link Order}로 지정한다.
+ * 동점자 처리 방식을 지정하지 않는 {@link #getRank(int[])}는
+ * 기존과 똑같은 결과 (내림차순, {@link TiePolicy#MAX})를 반환한다.
+ * 수천만 개 이상의 정수 배열은 여러 코어를 사용하는 
+ * {@link #getRankParallel(int[], int[], TiePolicy, Order, Scratch)}로 처리할 수 있다.
+ * 상위 몇 개나 한 요소의 순위만 필요하다면 전체 순위를 구하지 않는 
+ * {@link #topK(int[], int)}, {@link #rankOf(int[], int)}, {@link #kthLargest(int[], int)}가 더 빠르다.
+ * </p>
+ *
+ * <br>
+ * 예시) {50, 80, 80, 10}의 내림차순 순위
+ * <ul>
+ * <li>MIN - {3, 1, 1, 4}</li>
+ * <li>MAX - {3, 2, 2, 4}</li>
+ * <li>DENSE - {2, 1, 1, 3}</li>
+ * <li>ORDINAL - {3, 1, 2, 4}</li>
+ * <li>평균 ({@link #getFractionalRank(int[], Order)}) - {3.0, 1.5, 1.5, 4.0}</li>
+ * </ul>
+ *
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ *
+ * @author JeroCaller
+ */
 public class Rank {
+
+	/**
+	 * 같은 값을 가진 요소들에게 순위를 매기는 방식.
+	 */
+	public enum TiePolicy {
+		/**
+		 * 동점자 모두에게 그들이 차지하는 순위 중 가장 높은(작은) 순위를 준다. (1224 방식)
+		 */
+		MIN,
+		/**
+		 * 동점자 모두에게 그들이 차지하는 순위 중 가장 낮은(큰) 순위를 준다. (1334 방식)
+		 */
+		MAX,
+		/**
+		 * 동점자에게 같은 순위를 주고, 다음 값에는 바로 다음 순위를 준다. (1223 방식)
+		 */
+		DENSE,
+		/**
+		 * 동점자라도 배열에서 앞에 있는 요소에게 더 높은 순위를 준다. (1234 방식)
+		 */
+		ORDINAL
+	}
+
+	/**
+	 * 순위를 매기는 방향.
+	 */
+	public enum Order {
+		/**
+		 * 큰 값일수록 1에 가까운 순위.
+		 */
+		DESCENDING,
+		/**
+		 * 작은 값일수록 1에 가까운 순위.
+		 */
+		ASCENDING
+	}
+
+	/**
+	 * {@link Rank#getRankParallel(int[], int[], TiePolicy, Order, Scratch)}가 사용하는 작업용 버퍼.
+	 * 
+	 * <p>
+	 * 한 번 만든 객체를 계속 넘겨주면 배열 크기가 이전보다 커지지 않는 한 
+	 * 반복 실행 시 새 배열을 만들지 않는다. 
+	 * 한 객체를 여러 스레드가 동시에 사용해서는 안 된다.
+	 * </p>
+	 */
+	public static final class Scratch {
+		private long[] packed = new long[0];
+		private long[] buffer = new long[0];
+		private int[] work = new int[0];
+		private int[] counts = new int[0];
+		
+		private void ensureCapacity(int n, int chunks) {
+			if (packed.length < n) {
+				packed = new long[n];
+				buffer = new long[n];
+				work = new int[n];
+			}
+			if (counts.length < chunks * RADIX) {
+				counts = new int[chunks * RADIX];
+			}
+		}
+	}
+	
+	private static final int RADIX = 256;
 	
 	/**
-	 * 정수들이 담긴 배열에서 가장 큰 숫자일수록 1에 가까운 랭크를 매겨 
+	 * 병렬 기수 정렬에서 한 작업이 맡는 최소 원소 개수.
+	 */
+	private static final int MIN_CHUNK = 1 << 16;
+
+	/**
+	 * 정렬된 위치 p의 요소가 위치 p - 1의 요소와 같은 값인지 판별.
+	 */
+	private interface TieTest {
+		boolean sameAsPrevious(int p);
+	}
+
+	/**
+	 * 두 인덱스가 가리키는 요소의 크기를 비교.
+	 */
+	private interface IndexComparator {
+		int compare(int a, int b);
+	}
+
+	/**
+	 * 정수들이 담긴 배열에서 가장 큰 숫자일수록 1에 가까운 랭크를 매겨
 	 * 모든 배열 요소의 랭크를 반환.
+	 * 동점자는 그들이 차지하는 순위 중 가장 낮은 순위를 받는다.
+	 * ({@link TiePolicy#MAX}, {@link Order#DESCENDING})
 	 * @param arr - 랭크를 매길 정수가 담긴 배열
 	 * @return int[] - 랭크 숫자들의 배열
 	 */
 	public int[] getRank(int[] arr) {
-		int curRank;
-		int[] rank = new int[arr.length];
+		return getRank(arr, TiePolicy.MAX, Order.DESCENDING);
+	}
+
+	/**
+	 * 정수 배열의 모든 요소에 순위를 매겨 반환.
+	 * @param arr - 순위를 매길 배열.
+	 * @param policy - 동점자 처리 방식.
+	 * @param order - 순위를 매기는 방향.
+	 * @return int[] - arr[i]의 순위가 i번째에 담긴 배열.
+	 */
+	public int[] getRank(int[] arr, TiePolicy policy, Order order) {
+		long[] packed = sortPacked(arr, order);
+		return assignRanks(unpackIndexes(packed),
+				p -> (packed[p] >> 32) == (packed[p - 1] >> 32), policy);
+	}
+
+	/**
+	 * long 정수 배열의 모든 요소에 순위를 매겨 반환.
+	 * @param arr - 순위를 매길 배열.
+	 * @param policy - 동점자 처리 방식.
+	 * @param order - 순위를 매기는 방향.
+	 * @return int[] - arr[i]의 순위가 i번째에 담긴 배열.
+	 */
+	public int[] getRank(long[] arr, TiePolicy policy, Order order) {
+		long[] keys = Arrays.copyOf(arr, arr.length);
+		return rankByKeys(keys, policy, order);
+	}
+
+	/**
+	 * 실수 배열의 모든 요소에 순위를 매겨 반환.
+	 * 값의 크기 비교는 {@link Double#compare(double, double)}를 따른다.
+	 * (NaN은 가장 큰 값, -0.0은 0.0보다 작은 값)
+	 * @param arr - 순위를 매길 배열.
+	 * @param policy - 동점자 처리 방식.
+	 * @param order - 순위를 매기는 방향.
+	 * @return int[] - arr[i]의 순위가 i번째에 담긴 배열.
+	 */
+	public int[] getRank(double[] arr, TiePolicy policy, Order order) {
+		return rankByKeys(sortableKeys(arr), policy, order);
+	}
+
+	/**
+	 * 비교 가능한 객체 배열의 모든 요소에 순위를 매겨 반환.
+	 * 값의 크기 비교는 compareTo()를 따르며, 배열에 null이 있어서는 안 된다.
+	 * @param <T> - 요소의 타입.
+	 * @param arr - 순위를 매길 배열.
+	 * @param policy - 동점자 처리 방식.
+	 * @param order - 순위를 매기는 방향.
+	 * @return int[] - arr[i]의 순위가 i번째에 담긴 배열.
+	 */
+	public <T extends Comparable<? super T>> int[] getRank(T[] arr, TiePolicy policy, Order order) {
+		int[] sorted = sortIndexes(arr, order);
+		return assignRanks(sorted,
+				p -> arr[sorted[p]].compareTo(arr[sorted[p - 1]]) == 0, policy);
+	}
+
+	/**
+	 * 여러 코어를 사용하여 정수 배열의 모든 요소에 순위를 매긴다.
+	 * 결과는 {@link #getRank(int[], TiePolicy, Order)}와 같다.
+	 * @param arr - 순위를 매길 배열.
+	 * @param policy - 동점자 처리 방식.
+	 * @param order - 순위를 매기는 방향.
+	 * @return int[] - arr[i]의 순위가 i번째에 담긴 배열.
+	 * @see #getRankParallel(int[], int[], TiePolicy, Order, Scratch)
+	 */
+	public int[] getRankParallel(int[] arr, TiePolicy policy, Order order) {
+		int[] dst = new int[arr.length];
+		getRankParallel(arr, dst, policy, order, new Scratch());
+		return dst;
+	}
+	
+	/**
+	 * 여러 코어를 사용하여 정수 배열의 모든 요소에 순위를 매겨 dst에 기록한다.
+	 * 
+	 * <p>
+	 * (값, 인덱스)를 long 하나에 담아 병렬 LSD 기수 정렬로 정렬한 뒤, 
+	 * 동점 구간의 시작/끝 위치를 병렬 누적 연산(parallel prefix)으로 구해 순위를 매긴다. 
+	 * 모든 값이 공유하는 자릿수는 정렬 단계를 건너뛰므로, 
+	 * 점수처럼 값의 범위가 좁으면 더 빠르다. 
+	 * 같은 scratch를 재사용하면 반복 실행 시 배열을 새로 만들지 않는다.
+	 * 결과는 {@link #getRank(int[], TiePolicy, Order)}와 같다.
+	 * </p>
+	 * 
+	 * @param arr - 순위를 매길 배열.
+	 * @param dst - arr[i]의 순위를 i번째에 기록할 배열. 길이가 arr 이상이어야 한다.
+	 * @param policy - 동점자 처리 방식.
+	 * @param order - 순위를 매기는 방향.
+	 * @param scratch - 재사용할 작업용 버퍼.
+	 */
+	public void getRankParallel(int[] arr, int[] dst, TiePolicy policy, Order order, Scratch scratch) {
+		int n = arr.length;
+		if (dst.length < n) {
+			throw new IllegalArgumentException("dst.length < arr.length: " + dst.length + " < " + n);
+		}
+		int chunks = Math.max(1, Math.min(
+				ForkJoinPool.getCommonPoolParallelism() * 4, n / MIN_CHUNK));
+		scratch.ensureCapacity(n, chunks);
+		boolean descending = order == Order.DESCENDING;
+		long[] src = scratch.packed;
+		
+		// 부호 비트를 뒤집어 부호 없는 자릿수 순서가 부호 있는 값의 순서와 같게 한다.
+		IntStream.range(0, n).parallel().forEach(i -> {
+			int key = (descending ? ~arr[i] : arr[i]) ^ Integer.MIN_VALUE;
+			src[i] = ((long) key << 32) | i;
+		});
+		long[] sorted = radixSortHighBits(src, scratch.buffer, n, chunks, scratch.counts);
+		
+		int[] work = scratch.work;
+		switch (policy) {
+			case MIN:
+				// 각 위치에 자신이 속한 동점 구간의 시작 위치를 구한다.
+				IntStream.range(0, n).parallel().forEach(p -> 
+						work[p] = isGroupStart(sorted, p) ? p : 0);
+				Arrays.parallelPrefix(work, 0, n, Math::max);
+				IntStream.range(0, n).parallel().forEach(p -> 
+						dst[(int) sorted[p]] = work[p] + 1);
+				break;
+			case MAX:
+				// 뒤집은 위치에서 구간의 시작을 구하면 원래 위치에서의 구간 끝이 된다.
+				IntStream.range(0, n).parallel().forEach(p -> 
+						work[n - 1 - p] = isGroupEnd(sorted, p, n) ? n - 1 - p : 0);
+				Arrays.parallelPrefix(work, 0, n, Math::max);
+				IntStream.range(0, n).parallel().forEach(p -> 
+						dst[(int) sorted[p]] = n - work[n - 1 - p]);
+				break;
+			case DENSE:
+				IntStream.range(0, n).parallel().forEach(p -> 
+						work[p] = isGroupStart(sorted, p) ? 1 : 0);
+				Arrays.parallelPrefix(work, 0, n, Integer::sum);
+				IntStream.range(0, n).parallel().forEach(p -> 
+						dst[(int) sorted[p]] = work[p]);
+				break;
+			default:
+				IntStream.range(0, n).parallel().forEach(p -> 
+						dst[(int) sorted[p]] = p + 1);
+		}
+	}
+	
+	private static boolean isGroupStart(long[] sorted, int p) {
+		return p == 0 || (sorted[p] >>> 32) != (sorted[p - 1] >>> 32);
+	}
+	
+	private static boolean isGroupEnd(long[] sorted, int p, int n) {
+		return p == n - 1 || (sorted[p] >>> 32) != (sorted[p + 1] >>> 32);
+	}
+	
+	/**
+	 * 상위 32비트를 8비트씩 4번에 걸쳐 병렬 LSD 기수 정렬한다.
+	 * 처음에 인덱스 순으로 놓여 있고 각 단계가 안정적이므로 같은 값끼리는 인덱스 순이 유지된다.
+	 * @return 정렬 결과가 담긴 배열 (src 또는 buffer)
+	 */
+	private static long[] radixSortHighBits(long[] src, long[] buffer, int n, int chunks, int[] counts) {
+		int chunkSize = (n + chunks - 1) / Math.max(1, chunks);
+		
+		for (int shift = 32; shift < 64; shift += 8) {
+			int sh = shift;
+			long[] from = src;
+			long[] to = buffer;
+			
+			Arrays.fill(counts, 0, chunks * RADIX, 0);
+			IntStream.range(0, chunks).parallel().forEach(c -> {
+				int lo = c * chunkSize;
+				int hi = Math.min(lo + chunkSize, n);
+				int base = c * RADIX;
+				for (int i = lo; i < hi; i++) {
+					counts[base + (int) ((from[i] >>> sh) & 0xFF)]++;
+				}
+			});
+			
+			// 모든 원소가 같은 자릿수를 가지면 이 단계는 건너뛴다.
+			boolean skip = false;
+			for (int d = 0; d < RADIX; d++) {
+				int total = 0;
+				for (int c = 0; c < chunks; c++) {
+					total += counts[c * RADIX + d];
+				}
+				if (total == n) {
+					skip = true;
+					break;
+				}
+				if (total != 0) {
+					break;
+				}
+			}
+			if (skip) {
+				continue;
+			}
+			
+			// 자릿수 우선, 같은 자릿수 안에서는 작업 순서대로 시작 위치를 매긴다.
+			int offset = 0;
+			for (int d = 0; d < RADIX; d++) {
+				for (int c = 0; c < chunks; c++) {
+					int count = counts[c * RADIX + d];
+					counts[c * RADIX + d] = offset;
+					offset += count;
+				}
+			}
+			
+			IntStream.range(0, chunks).parallel().forEach(c -> {
+				int lo = c * chunkSize;
+				int hi = Math.min(lo + chunkSize, n);
+				int base = c * RADIX;
+				for (int i = lo; i < hi; i++) {
+					long v = from[i];
+					to[counts[base + (int) ((v >>> sh) & 0xFF)]++] = v;
+				}
+			});
+			
+			src = to;
+			buffer = from;
+		}
+		return src;
+	}
+	
+	/**
+	 * 정수 배열의 모든 요소에 평균 순위를 매겨 반환.
+	 * 동점자는 그들이 차지하는 순위들의 평균을 받는다. 예) 2위와 3위가 동점이면 둘 다 2.5
+	 * @param arr - 순위를 매길 배열.
+	 * @param order - 순위를 매기는 방향.
+	 * @return double[] - arr[i]의 순위가 i번째에 담긴 배열.
+	 */
+	public double[] getFractionalRank(int[] arr, Order order) {
+		long[] packed = sortPacked(arr, order);
+		return assignFractionalRanks(unpackIndexes(packed),
+				p -> (packed[p] >> 32) == (packed[p - 1] >> 32));
+	}
+
+	/**
+	 * long 정수 배열의 모든 요소에 평균 순위를 매겨 반환.
+	 * @param arr - 순위를 매길 배열.
+	 * @param order - 순위를 매기는 방향.
+	 * @return double[] - arr[i]의 순위가 i번째에 담긴 배열.
+	 * @see #getFractionalRank(int[], Order)
+	 */
+	public double[] getFractionalRank(long[] arr, Order order) {
+		long[] keys = Arrays.copyOf(arr, arr.length);
+		int[] sorted = sortIndexesByKeys(keys, order);
+		return assignFractionalRanks(sorted, p -> keys[sorted[p]] == keys[sorted[p - 1]]);
+	}
+
+	/**
+	 * 실수 배열의 모든 요소에 평균 순위를 매겨 반환.
+	 * @param arr - 순위를 매길 배열.
+	 * @param order - 순위를 매기는 방향.
+	 * @return double[] - arr[i]의 순위가 i번째에 담긴 배열.
+	 * @see #getFractionalRank(int[], Order)
+	 */
+	public double[] getFractionalRank(double[] arr, Order order) {
+		long[] keys = sortableKeys(arr);
+		int[] sorted = sortIndexesByKeys(keys, order);
+		return assignFractionalRanks(sorted, p -> keys[sorted[p]] == keys[sorted[p - 1]]);
+	}
+
+	/**
+	 * 비교 가능한 객체 배열의 모든 요소에 평균 순위를 매겨 반환.
+	 * @param <T> - 요소의 타입.
+	 * @param arr - 순위를 매길 배열.
+	 * @param order - 순위를 매기는 방향.
+	 * @return double[] - arr[i]의 순위가 i번째에 담긴 배열.
+	 * @see #getFractionalRank(int[], Order)
+	 */
+	public <T extends Comparable<? super T>> double[] getFractionalRank(T[] arr, Order order) {
+		int[] sorted = sortIndexes(arr, order);
+		return assignFractionalRanks(sorted,
+				p -> arr[sorted[p]].compareTo(arr[sorted[p - 1]]) == 0);
+	}
+
+	/**
+	 * 값이 가장 큰 k개 요소의 인덱스를 큰 값부터 차례로 반환.
+	 * 같은 값끼리는 인덱스가 작은 요소가 앞에 온다.
+	 * @param arr - 대상 배열.
+	 * @param k - 조회할 개수.
+	 * @return 인덱스 배열. 배열 길이가 k보다 작으면 배열 길이만큼만 반환.
+	 * @see #topK(int[], int, Order)
+	 */
+	public int[] topK(int[] arr, int k) {
+		return topK(arr, k, Order.DESCENDING);
+	}
+	
+	/**
+	 * 순위가 가장 높은 k개 요소의 인덱스를 순위 순서대로 반환.
+	 * 
+	 * <p>
+	 * 크기 k의 기본형 최소 힙 하나만 사용하여 배열을 한 번 훑으므로 
+	 * O(n log k) 시간과 O(k) 메모리가 든다. 
+	 * 같은 값끼리는 인덱스가 작은 요소가 앞에 온다. ({@link TiePolicy#ORDINAL}과 같은 순서)
+	 * </p>
+	 * 
+	 * @param arr - 대상 배열.
+	 * @param k - 조회할 개수.
+	 * @param order - 순위를 매기는 방향. ASCENDING이면 값이 가장 작은 k개를 반환.
+	 * @return 인덱스 배열. 배열 길이가 k보다 작으면 배열 길이만큼만 반환.
+	 */
+	public int[] topK(int[] arr, int k, Order order) {
+		if (k < 0) {
+			throw new IllegalArgumentException("k < 0: " + k);
+		}
+		k = Math.min(k, arr.length);
+		if (k == 0) {
+			return new int[0];
+		}
+		boolean descending = order == Order.DESCENDING;
+		// 상위 32비트는 값, 하위 32비트는 뒤집은 인덱스. 클수록 순위가 높다.
+		long[] heap = new long[k];
+		int size = 0;
 		
 		for (int i = 0; i < arr.length; i++) {
-			curRank = arr.length;
-			for (int j = 0; j < arr.length; j++) {
-				if (arr[i] > arr[j]) {
-					--curRank;
+			int key = descending ? arr[i] : ~arr[i];
+			long packed = ((long) key << 32) | (0xFFFFFFFFL - i);
+			if (size < k) {
+				heap[size] = packed;
+				siftUp(heap, size++);
+			} else if (packed > heap[0]) {
+				heap[0] = packed;
+				siftDown(heap, 0, k);
+			}
+		}
+		
+		int[] result = new int[k];
+		for (int end = k - 1; end >= 0; end--) {
+			result[end] = (int) (0xFFFFFFFFL - (heap[0] & 0xFFFFFFFFL));
+			heap[0] = heap[end];
+			siftDown(heap, 0, end);
+		}
+		return result;
+	}
+	
+	/**
+	 * 배열의 한 요소의 순위만 구하여 반환. 
+	 * 결과는 {@link #getRank(int[])}의 index번째 값과 같다.
+	 * @param arr - 대상 배열.
+	 * @param index - 순위를 구할 요소의 인덱스.
+	 * @return int
+	 */
+	public int rankOf(int[] arr, int index) {
+		return rankOf(arr, index, TiePolicy.MAX, Order.DESCENDING);
+	}
+	
+	/**
+	 * 배열의 한 요소의 순위만 구하여 반환. 
+	 * 결과는 {@link #getRank(int[], TiePolicy, Order)}의 index번째 값과 같다.
+	 * 
+	 * <p>
+	 * MIN, MAX, ORDINAL은 배열을 한 번 세어 O(n)에 구한다. 
+	 * DENSE는 더 높은 값들 중 서로 다른 값의 개수를 세야 하므로 
+	 * 그 값들만 모아 정렬하여 구한다.
+	 * </p>
+	 * 
+	 * @param arr - 대상 배열.
+	 * @param index - 순위를 구할 요소의 인덱스.
+	 * @param policy - 동점자 처리 방식.
+	 * @param order - 순위를 매기는 방향.
+	 * @return int
+	 */
+	public int rankOf(int[] arr, int index, TiePolicy policy, Order order) {
+		if (index < 0 || index >= arr.length) {
+			throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + arr.length);
+		}
+		boolean descending = order == Order.DESCENDING;
+		int target = arr[index];
+		int better = 0;
+		int equalBefore = 0;
+		int equal = 0;
+		
+		for (int i = 0; i < arr.length; i++) {
+			int v = arr[i];
+			if (v == target) {
+				equal++;
+				if (i < index) {
+					equalBefore++;
 				}
+			} else if (descending ? v > target : v < target) {
+				better++;
 			}
-			rank[i] = curRank;
 		}
 		
-		return rank;
+		switch (policy) {
+			case MIN:
+				return better + 1;
+			case MAX:
+				return better + equal;
+			case ORDINAL:
+				return better + equalBefore + 1;
+			default:
+				int[] betterValues = new int[better];
+				int count = 0;
+				for (int v : arr) {
+					if (v != target && (descending ? v > target : v < target)) {
+						betterValues[count++] = v;
+					}
+				}
+				Arrays.sort(betterValues);
+				int distinct = 0;
+				for (int i = 0; i < count; i++) {
+					if (i == 0 || betterValues[i] != betterValues[i - 1]) {
+						distinct++;
+					}
+				}
+				return distinct + 1;
+		}
+	}
+	
+	/**
+	 * 배열에서 k번째로 큰 값을 반환. (중복 값도 각각 센다)
+	 * 원본 배열의 복사본에서 quickselect를 수행하므로 평균 O(n) 시간이 들며 
+	 * 원본 배열은 바뀌지 않는다.
+	 * @param arr - 대상 배열.
+	 * @param k - 1 이상 배열 길이 이하의 순번. 1이면 최댓값.
+	 * @return int
+	 */
+	public int kthLargest(int[] arr, int k) {
+		if (k < 1 || k > arr.length) {
+			throw new IllegalArgumentException("k가 범위를 벗어났습니다: " + k);
+		}
+		int[] a = Arrays.copyOf(arr, arr.length);
+		// k번째로 큰 값은 오름차순으로 (n - k)번 위치의 값이다.
+		int target = a.length - k;
+		int lo = 0;
+		int hi = a.length - 1;
+		ThreadLocalRandom rng = ThreadLocalRandom.current();
+		
+		while (lo < hi) {
+			int pivot = a[lo + rng.nextInt(hi - lo + 1)];
+			// 3분할: [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi] > pivot
+			int lt = lo;
+			int gt = hi;
+			int i = lo;
+			while (i <= gt) {
+				if (a[i] < pivot) {
+					int t = a[lt];
+					a[lt++] = a[i];
+					a[i++] = t;
+				} else if (a[i] > pivot) {
+					int t = a[gt];
+					a[gt--] = a[i];
+					a[i] = t;
+				} else {
+					i++;
+				}
+			}
+			if (target < lt) {
+				hi = lt - 1;
+			} else if (target > gt) {
+				lo = gt + 1;
+			} else {
+				return pivot;
+			}
+		}
+		return a[target];
+	}
+	
+	/**
+	 * 배열에서 k번째로 큰 값을 반환. (중복 값도 각각 센다)
+	 * 원본 배열은 바뀌지 않는다.
+	 * @param arr - 대상 배열.
+	 * @param k - 1 이상 배열 길이 이하의 순번. 1이면 최댓값.
+	 * @return long
+	 * @see #kthLargest(int[], int)
+	 */
+	public long kthLargest(long[] arr, int k) {
+		if (k < 1 || k > arr.length) {
+			throw new IllegalArgumentException("k가 범위를 벗어났습니다: " + k);
+		}
+		long[] a = Arrays.copyOf(arr, arr.length);
+		int target = a.length - k;
+		int lo = 0;
+		int hi = a.length - 1;
+		ThreadLocalRandom rng = ThreadLocalRandom.current();
+		
+		while (lo < hi) {
+			long pivot = a[lo + rng.nextInt(hi - lo + 1)];
+			int lt = lo;
+			int gt = hi;
+			int i = lo;
+			while (i <= gt) {
+				if (a[i] < pivot) {
+					long t = a[lt];
+					a[lt++] = a[i];
+					a[i++] = t;
+				} else if (a[i] > pivot) {
+					long t = a[gt];
+					a[gt--] = a[i];
+					a[i] = t;
+				} else {
+					i++;
+				}
+			}
+			if (target < lt) {
+				hi = lt - 1;
+			} else if (target > gt) {
+				lo = gt + 1;
+			} else {
+				return pivot;
+			}
+		}
+		return a[target];
+	}
+	
+	private static void siftUp(long[] heap, int i) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (heap[parent] <= heap[i]) {
+				break;
+			}
+			long t = heap[parent];
+			heap[parent] = heap[i];
+			heap[i] = t;
+			i = parent;
+		}
+	}
+	
+	private static void siftDown(long[] heap, int i, int size) {
+		while (true) {
+			int left = 2 * i + 1;
+			if (left >= size) {
+				break;
+			}
+			int smallest = left;
+			if (left + 1 < size && heap[left + 1] < heap[left]) {
+				smallest = left + 1;
+			}
+			if (heap[i] <= heap[smallest]) {
+				break;
+			}
+			long t = heap[i];
+			heap[i] = heap[smallest];
+			heap[smallest] = t;
+			i = smallest;
+		}
 	}
 	
+	/**
+	 * 상위 32비트에 정렬 키, 하위 32비트에 인덱스를 담아 정렬한다.
+	 * 같은 키끼리는 인덱스 순으로 정렬되므로 별도의 안정 정렬이 필요 없다.
+	 */
+	private static long[] sortPacked(int[] arr, Order order) {
+		long[] packed = new long[arr.length];
+		boolean descending = order == Order.DESCENDING;
+
+		for (int i = 0; i < arr.length; i++) {
+			int key = descending ? ~arr[i] : arr[i];
+			packed[i] = ((long) key << 32) | i;
+		}
+		Arrays.sort(packed);
+		return packed;
+	}
+
+	private static int[] unpackIndexes(long[] packed) {
+		int[] sorted = new int[packed.length];
+		for (int p = 0; p < packed.length; p++) {
+			sorted[p] = (int) packed[p];
+		}
+		return sorted;
+	}
+
+	/**
+	 * Double.compare()와 같은 순서를 갖는 long 키로 변환.
+	 */
+	private static long[] sortableKeys(double[] arr) {
+		long[] keys = new long[arr.length];
+		for (int i = 0; i < arr.length; i++) {
+			long bits = Double.doubleToLongBits(arr[i]);
+			keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+		}
+		return keys;
+	}
+
+	private static int[] rankByKeys(long[] keys, TiePolicy policy, Order order) {
+		int[] sorted = sortIndexesByKeys(keys, order);
+		return assignRanks(sorted, p -> keys[sorted[p]] == keys[sorted[p - 1]], policy);
+	}
+
+	/**
+	 * 키 배열을 제자리에서 정렬 방향에 맞게 바꾼 뒤 인덱스를 안정 정렬한다.
+	 * (비트 반전은 부호 있는 정수의 대소 관계를 정확히 뒤집는다.)
+	 */
+	private static int[] sortIndexesByKeys(long[] keys, Order order) {
+		if (order == Order.DESCENDING) {
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = ~keys[i];
+			}
+		}
+		return sortIndexes(keys.length, (a, b) -> Long.compare(keys[a], keys[b]));
+	}
+
+	private static <T extends Comparable<? super T>> int[] sortIndexes(T[] arr, Order order) {
+		if (order == Order.DESCENDING) {
+			return sortIndexes(arr.length, (a, b) -> arr[b].compareTo(arr[a]));
+		}
+		return sortIndexes(arr.length, (a, b) -> arr[a].compareTo(arr[b]));
+	}
+
+	/**
+	 * 0부터 n - 1까지의 인덱스를 상향식 병합 정렬로 안정 정렬한다.
+	 */
+	private static int[] sortIndexes(int n, IndexComparator cmp) {
+		int[] src = new int[n];
+		int[] dst = new int[n];
+		for (int i = 0; i < n; i++) {
+			src[i] = i;
+		}
+
+		for (int width = 1; width < n; width <<= 1) {
+			for (int lo = 0; lo < n; lo += width << 1) {
+				int mid = Math.min(lo + width, n);
+				int hi = Math.min(lo + (width << 1), n);
+				int i = lo;
+				int j = mid;
+				int k = lo;
+				while (i < mid && j < hi) {
+					dst[k++] = cmp.compare(src[j], src[i]) < 0 ? src[j++] : src[i++];
+				}
+				while (i < mid) {
+					dst[k++] = src[i++];
+				}
+				while (j < hi) {
+					dst[k++] = src[j++];
+				}
+			}
+			int[] temp = src;
+			src = dst;
+			dst = temp;
+		}
+		return src;
+	}
+
+	/**
+	 * 정렬된 인덱스 순서를 따라 동점 구간을 찾아 순위를 기록한다.
+	 */
+	private static int[] assignRanks(int[] sorted, TieTest tie, TiePolicy policy) {
+		int n = sorted.length;
+		int[] rank = new int[n];
+		int dense = 0;
+
+		for (int p = 0; p < n; ) {
+			int q = p + 1;
+			while (q < n && tie.sameAsPrevious(q)) {
+				q++;
+			}
+			dense++;
+
+			for (int r = p; r < q; r++) {
+				int value;
+				switch (policy) {
+					case MIN:
+						value = p + 1;
+						break;
+					case MAX:
+						value = q;
+						break;
+					case DENSE:
+						value = dense;
+						break;
+					default:
+						value = r + 1;
+				}
+				rank[sorted[r]] = value;
+			}
+			p = q;
+		}
+		return rank;
+	}
+
+	private static double[] assignFractionalRanks(int[] sorted, TieTest tie) {
+		int n = sorted.length;
+		double[] rank = new double[n];
+
+		for (int p = 0; p < n; ) {
+			int q = p + 1;
+			while (q < n && tie.sameAsPrevious(q)) {
+				q++;
+			}
+			double average = (p + 1 + q) / 2.0;
+			for (int r = p; r < q; r++) {
+				rank[sorted[r]] = average;
+			}
+			p = q;
+		}
+		return rank;
+	}
+
 }
@@ -0,0 +1,216 @@
+package jeca.any;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * 시드와 인덱스만으로 값이 결정되는 난수열.
+ * {@link CustomRandom}의 병렬 스트림 및 병렬 채우기 기능이 내부적으로 사용한다.
+ *
+ * <p>
+ * i번째 원시 값은 SplitMix64 방식으로 mix64(seed + (i + 1) * GOLDEN_GAMMA)이며,
+ * 이는 new SplittableRandom(seed)의 nextLong()을 i + 1번 호출한 결과와 같다.
+ * 각 값이 앞선 값에 의존하지 않으므로 구간을 어떻게 나누어 병렬로 생성하든
+ * 같은 시드에서는 항상 같은 결과가 나온다.
+ * </p>
+ *
+ * @author JeroCaller
+ */
+final class SeededSequence {
+	static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private SeededSequence() {}
+
+	/**
+	 * SplittableRandom과 같은 64비트 혼합 함수.
+	 */
+	static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * 시드 seed인 수열의 index번째 64비트 원시 값.
+	 */
+	static long rawAt(long seed, long index) {
+		return mix64(seed + (index + 1) * GOLDEN_GAMMA);
+	}
+
+	/**
+	 * 64비트 무작위 값 r을 [0, span) 범위로 옮긴다. span은 부호 없는 값으로 취급하며
+	 * 0은 2^64를 뜻한다. 거부 샘플링을 하지 않으므로 인덱스당 원시 값을 정확히 하나만 쓰고,
+	 * 편향은 span / 2^64 이하로 무시할 만하다.
+	 */
+	static long scale(long r, long span) {
+		if (span == 0) {
+			return r;
+		}
+		// 부호 없는 64비트 곱셈의 상위 64비트
+		return Math.multiplyHigh(r, span) + ((r >> 63) & span) + ((span >> 63) & r);
+	}
+
+	static int intAt(long seed, long index, int startNum, long span) {
+		return (int) (startNum + scale(rawAt(seed, index), span));
+	}
+
+	static long longAt(long seed, long index, long startNum, long span) {
+		return startNum + scale(rawAt(seed, index), span);
+	}
+
+	static double doubleAt(long seed, long index, double origin, double width, double bound) {
+		double value = origin + (rawAt(seed, index) >>> 11) * 0x1.0p-53 * width;
+		return value < bound ? value : Math.nextDown(bound);
+	}
+
+	/**
+	 * 인덱스 구간 [index, fence)를 담당하는 스플리테이터의 공통 부분.
+	 * 구간을 절반씩 나누므로 포크-조인 분할과 무관하게 각 인덱스의 값은 같다.
+	 */
+	private abstract static class Base {
+		final long seed;
+		long index;
+		final long fence;
+
+		Base(long seed, long index, long fence) {
+			this.seed = seed;
+			this.index = index;
+			this.fence = fence;
+		}
+
+		long splitPoint() {
+			long lo = index;
+			long mid = (lo + fence) >>> 1;
+			return lo < mid ? mid : -1;
+		}
+
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		public int characteristics() {
+			return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED
+					| Spliterator.NONNULL | Spliterator.IMMUTABLE;
+		}
+	}
+
+	static final class IntSpliterator extends Base implements Spliterator.OfInt {
+		private final int startNum;
+		private final long span;
+
+		IntSpliterator(long seed, long index, long fence, int startNum, long span) {
+			super(seed, index, fence);
+			this.startNum = startNum;
+			this.span = span;
+		}
+
+		@Override
+		public IntSpliterator trySplit() {
+			long mid = splitPoint();
+			if (mid < 0) {
+				return null;
+			}
+			IntSpliterator prefix = new IntSpliterator(seed, index, mid, startNum, span);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			if (index >= fence) {
+				return false;
+			}
+			action.accept(intAt(seed, index++, startNum, span));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			for (long i = index; i < fence; i++) {
+				action.accept(intAt(seed, i, startNum, span));
+			}
+			index = fence;
+		}
+	}
+
+	static final class LongSpliterator extends Base implements Spliterator.OfLong {
+		private final long startNum;
+		private final long span;
+
+		LongSpliterator(long seed, long index, long fence, long startNum, long span) {
+			super(seed, index, fence);
+			this.startNum = startNum;
+			this.span = span;
+		}
+
+		@Override
+		public LongSpliterator trySplit() {
+			long mid = splitPoint();
+			if (mid < 0) {
+				return null;
+			}
+			LongSpliterator prefix = new LongSpliterator(seed, index, mid, startNum, span);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(LongConsumer action) {
+			if (index >= fence) {
+				return false;
+			}
+			action.accept(longAt(seed, index++, startNum, span));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(LongConsumer action) {
+			for (long i = index; i < fence; i++) {
+				action.accept(longAt(seed, i, startNum, span));
+			}
+			index = fence;
+		}
+	}
+
+	static final class DoubleSpliterator extends Base implements Spliterator.OfDouble {
+		private final double origin;
+		private final double bound;
+
+		DoubleSpliterator(long seed, long index, long fence, double origin, double bound) {
+			super(seed, index, fence);
+			this.origin = origin;
+			this.bound = bound;
+		}
+
+		@Override
+		public DoubleSpliterator trySplit() {
+			long mid = splitPoint();
+			if (mid < 0) {
+				return null;
+			}
+			DoubleSpliterator prefix = new DoubleSpliterator(seed, index, mid, origin, bound);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(DoubleConsumer action) {
+			if (index >= fence) {
+				return false;
+			}
+			action.accept(doubleAt(seed, index++, origin, bound - origin, bound));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(DoubleConsumer action) {
+			double width = bound - origin;
+			for (long i = index; i < fence; i++) {
+				action.accept(doubleAt(seed, i, origin, width, bound));
+			}
+			index = fence;
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+package jeca.any;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * 1부터 n까지의 정수를 Zipf 분포에 따라 뽑는 샘플러. 
+ * k가 뽑힐 확률은 1 / k^exponent에 비례한다.
+ * 
+ * <p>
+ * Hörmann과 Derflinger의 rejection-inversion 방법을 사용하므로 
+ * n의 크기와 무관하게 생성 비용과 메모리가 O(1)이며, 
+ * 뽑을 때마다 평균 1회를 조금 넘는 시도만으로 값을 얻는다. 
+ * 생성 후에는 상태가 바뀌지 않으므로 여러 스레드가 함께 사용해도 된다.
+ * </p>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public final class ZipfSampler {
+	private final int n;
+	private final double exponent;
+	private final double hIntegralX1;
+	private final double hIntegralN;
+	private final double s;
+	
+	/**
+	 * @param n - 뽑을 수 있는 가장 큰 정수. 1 이상이어야 한다.
+	 * @param exponent - 지수. 0보다 커야 한다. 클수록 작은 수에 확률이 몰린다.
+	 * @throws IllegalArgumentException 인자가 올바르지 않은 경우.
+	 */
+	public ZipfSampler(int n, double exponent) {
+		if (n < 1) {
+			throw new IllegalArgumentException("n < 1: " + n);
+		}
+		if (!(exponent > 0) || Double.isInfinite(exponent)) {
+			throw new IllegalArgumentException("잘못된 지수: " + exponent);
+		}
+		this.n = n;
+		this.exponent = exponent;
+		hIntegralX1 = hIntegral(1.5) - 1.0;
+		hIntegralN = hIntegral(n + 0.5);
+		s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+	}
+	
+	/**
+	 * {@link CustomRandom}의 기본 난수 생성기로 값 하나를 뽑는다.
+	 * @return 1 이상 n 이하의 정수.
+	 */
+	public int next() {
+		return next(CustomRandom.getDefaultSource().current());
+	}
+	
+	/**
+	 * 주어진 난수 생성기로 값 하나를 뽑는다.
+	 * @param rng - 사용할 난수 생성기.
+	 * @return 1 이상 n 이하의 정수.
+	 */
+	public int next(RandomGenerator rng) {
+		while (true) {
+			double u = hIntegralN + rng.nextDouble() * (hIntegralX1 - hIntegralN);
+			double x = hIntegralInverse(u);
+			int k = (int) (x + 0.5);
+			
+			if (k < 1) {
+				k = 1;
+			} else if (k > n) {
+				k = n;
+			}
+			
+			if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+				return k;
+			}
+		}
+	}
+	
+	/**
+	 * 배열의 [from, to) 구간을 Zipf 분포에서 뽑은 값으로 채운다.
+	 * @param dst - 채울 배열.
+	 * @param from - 채우기 시작할 인덱스. 해당 인덱스도 포함됨.
+	 * @param to - 채우기를 끝낼 인덱스. 해당 인덱스는 포함되지 않음.
+	 * @param rng - 사용할 난수 생성기.
+	 */
+	public void fill(int[] dst, int from, int to, RandomGenerator rng) {
+		Objects.checkFromToIndex(from, to, dst.length);
+		for (int i = from; i < to; i++) {
+			dst[i] = next(rng);
+		}
+	}
+	
+	/**
+	 * h(x) = 1 / x^exponent
+	 */
+	private double h(double x) {
+		return Math.exp(-exponent * Math.log(x));
+	}
+	
+	/**
+	 * h(x)의 부정적분. exponent가 1에 가까워도 수치적으로 안정적이도록 계산한다.
+	 */
+	private double hIntegral(double x) {
+		double logX = Math.log(x);
+		return helper2((1.0 - exponent) * logX) * logX;
+	}
+	
+	private double hIntegralInverse(double x) {
+		double t = x * (1.0 - exponent);
+		if (t < -1.0) {
+			t = -1.0;
+		}
+		return Math.exp(helper1(t) * x);
+	}
+	
+	/**
+	 * log(1 + x) / x
+	 */
+	private static double helper1(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.log1p(x) / x;
+		}
+		return 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+	}
+	
+	/**
+	 * (exp(x) - 1) / x
+	 */
+	private static double helper2(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.expm1(x) / x;
+		}
+		return 1.0 + x * 0.5 * (1.0 + x * (1.0 / 3.0) * (1.0 + 0.25 * x));
+	}
+	
+}
@@ -0,0 +1,236 @@
+package jeca.console;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * 바이트 입력을 큰 버퍼로 읽어 공백 단위 토큰으로 나누는 클래스.
+ * {@link ConsoleUiScanner}의 일괄 입력 모드에서 Scanner 대신 사용한다.
+ * 
+ * <p>
+ * 정규식을 쓰지 않고 바이트를 직접 훑으며, 정수 토큰은 문자열을 만들지 않고
+ * 버퍼 위에서 바로 변환하므로 토큰마다 객체를 생성하지 않는다.
+ * 토큰 구분자는 Character.isWhitespace()가 true인 ASCII 문자(공백, 탭, 줄바꿈 등)이다.
+ * 따라서 문자 인코딩은 이 문자들을 한 바이트로 인코딩하는 인코딩(UTF-8, EUC-KR 등)이어야 한다.
+ * </p>
+ * 
+ * <p>
+ * Scanner와 마찬가지로 입력이 끝나면 NoSuchElementException을,
+ * 정수가 아닌 토큰에 {@link #nextInt()}를 호출하면 InputMismatchException을 던지며,
+ * 이때 토큰은 소비되지 않는다. 읽는 중 발생한 IOException도 Scanner처럼 입력의 끝으로 취급하며
+ * {@link #ioException()}으로 확인할 수 있다.
+ * </p>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+final class ByteTokenizer {
+	/**
+	 * 기본 버퍼 크기. (바이트)
+	 */
+	static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	
+	private final ReadableByteChannel in;
+	private final Charset charset;
+	private byte[] buf;
+	private ByteBuffer window;
+	private int pos = 0;
+	private int limit = 0;
+	private boolean eof = false;
+	private IOException lastException = null;
+	
+	/**
+	 * @param in - 읽을 입력 채널.
+	 * @param charset - 문자열 토큰을 만들 때 사용할 문자 인코딩.
+	 * @param bufferSize - 버퍼 크기. 버퍼보다 긴 토큰을 만나면 버퍼를 늘린다.
+	 */
+	ByteTokenizer(ReadableByteChannel in, Charset charset, int bufferSize) {
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("잘못된 버퍼 크기: " + bufferSize);
+		}
+		checkCharset(charset);
+		this.in = in;
+		this.charset = charset;
+		buf = new byte[bufferSize];
+		window = ByteBuffer.wrap(buf);
+	}
+	
+	/**
+	 * 공백을 건너뛰고 남은 토큰이 있는지 확인한다. 입력이 더 들어올 때까지 기다릴 수 있다.
+	 * @return boolean
+	 */
+	boolean hasNext() {
+		while (true) {
+			while (pos < limit && isDelimiter(buf[pos])) {
+				pos++;
+			}
+			if (pos < limit) {
+				return true;
+			}
+			if (!fill()) {
+				return false;
+			}
+		}
+	}
+	
+	/**
+	 * 다음 토큰을 문자열로 반환한다.
+	 * @return String
+	 * @throws NoSuchElementException 남은 토큰이 없는 경우.
+	 */
+	String next() {
+		int end = tokenEnd();
+		String token = new String(buf, pos, end - pos, charset);
+		pos = end;
+		return token;
+	}
+	
+	/**
+	 * 다음 토큰을 10진수 정수로 변환하여 반환한다.
+	 * 부호('+' 또는 '-')와 숫자로만 이루어진 int 범위의 토큰만 받는다.
+	 * @return int
+	 * @throws InputMismatchException 정수가 아니거나 int 범위를 벗어난 경우. 토큰은 소비되지 않는다.
+	 * @throws NoSuchElementException 남은 토큰이 없는 경우.
+	 */
+	int nextInt() {
+		int end = tokenEnd();
+		int i = pos;
+		boolean negative = false;
+		if (buf[i] == '-' || buf[i] == '+') {
+			negative = buf[i] == '-';
+			i++;
+		}
+		if (i == end) {
+			throw mismatch(end);
+		}
+		
+		// 음수 쪽으로 누적하면 Integer.MIN_VALUE까지 넘치지 않고 표현할 수 있다.
+		int limitValue = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+		int multMin = limitValue / 10;
+		int result = 0;
+		for (; i < end; i++) {
+			int digit = buf[i] - '0';
+			if (digit < 0 || digit > 9 || result < multMin) {
+				throw mismatch(end);
+			}
+			result *= 10;
+			if (result < limitValue + digit) {
+				throw mismatch(end);
+			}
+			result -= digit;
+		}
+		pos = end;
+		return negative ? result : -result;
+	}
+	
+	/**
+	 * 읽는 도중 마지막으로 발생한 IOException을 반환. 없으면 null.
+	 * @return IOException
+	 */
+	IOException ioException() {
+		return lastException;
+	}
+	
+	/**
+	 * 다음 토큰 전체가 버퍼 안에 들어오도록 한 뒤 토큰의 끝 위치(해당 위치는 포함되지 않음)를 반환한다.
+	 */
+	private int tokenEnd() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("더 이상 입력이 없습니다.", lastException);
+		}
+		int end = pos;
+		while (true) {
+			while (end < limit && !isDelimiter(buf[end])) {
+				end++;
+			}
+			if (end < limit || eof) {
+				return end;
+			}
+			int offset = end - pos;
+			if (!fill()) {
+				return pos + offset;
+			}
+			end = pos + offset;
+		}
+	}
+	
+	/**
+	 * 아직 읽지 않은 내용을 버퍼 앞으로 옮기고 뒤를 채운다. 버퍼가 가득 차 있으면 두 배로 늘린다.
+	 * @return 새로 읽은 내용이 있으면 true, 입력이 끝났으면 false.
+	 */
+	private boolean fill() {
+		if (eof) {
+			return false;
+		}
+		int remaining = limit - pos;
+		if (pos > 0) {
+			System.arraycopy(buf, pos, buf, 0, remaining);
+		} else if (remaining == buf.length) {
+			byte[] grown = new byte[buf.length * 2];
+			System.arraycopy(buf, 0, grown, 0, remaining);
+			buf = grown;
+			window = ByteBuffer.wrap(buf);
+		}
+		pos = 0;
+		limit = remaining;
+		
+		try {
+			int read;
+			do {
+				window.limit(buf.length).position(limit);
+				read = in.read(window);
+			} while (read == 0);
+			if (read < 0) {
+				eof = true;
+				return false;
+			}
+			limit += read;
+			return true;
+		} catch (IOException exp) {
+			lastException = exp;
+			eof = true;
+			return false;
+		}
+	}
+	
+	private InputMismatchException mismatch(int end) {
+		return new InputMismatchException(
+				"정수가 아닌 입력: " + new String(buf, pos, end - pos, charset));
+	}
+	
+	/**
+	 * Character.isWhitespace()가 true인 ASCII 문자인지 확인.
+	 */
+	private static boolean isDelimiter(byte b) {
+		return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+	}
+	
+	private static void checkCharset(Charset charset) {
+		try {
+			ByteBuffer delimiters = charset.newEncoder().encode(CharBuffer.wrap(" \n"));
+			if (delimiters.remaining() == 2 && delimiters.get(0) == ' ' && delimiters.get(1) == '\n') {
+				return;
+			}
+		} catch (CharacterCodingException | UnsupportedOperationException exp) {
+			// 아래에서 예외를 던진다.
+		}
+		throw new IllegalArgumentException("지원하지 않는 문자 인코딩: " + charset);
+	}
+	
+}
@@ -0,0 +1,443 @@
+package jeca.console;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 라이브러리의 콘솔 출력을 모아 별도 스레드에서 표준 출력으로 내보내는 공용 출력 창구.
+ * (객체 생성 방지해놓음)
+ * 
+ * <p>
+ * {@link #enable()}로 켜면 {@link #print(CharSequence)}, {@link #println(CharSequence)}는
+ * 잠금 없는 고정 크기 링 버퍼에 출력 내용을 넣기만 하고 바로 반환한다.
+ * 전용 출력 스레드 하나가 쌓인 내용을 한꺼번에 꺼내 한 번의 쓰기와 flush로 표준 출력에 내보내므로,
+ * 느린 터미널이나 파이프로 연결된 소비자가 호출한 스레드를 붙잡지 않는다.
+ * 한 번의 호출로 넣은 내용은 다른 내용과 섞이지 않으며,
+ * 같은 스레드가 넣은 내용은 넣은 순서대로 출력된다.
+ * 버퍼가 가득 찼을 때의 동작은 {@link OverflowPolicy}로 정한다.
+ * </p>
+ * 
+ * <p>
+ * 켜지 않았을 때는 모든 메서드가 System.out에 곧바로 출력하므로 기존 동작과 같다.
+ * {@link jeca.any.PrintArrayTool}, {@link ConsoleUiScanner}, {@link ConsoleUiNonScanner}의 출력과 
+ * {@link jeca.fileio.TextFileIO}의 안내 문구는 모두 이 클래스를 거친다. 
+ * 예외의 스택 트레이스는 표준 에러로 출력한다. 사용자 입력을 받기 전에는 {@link #flush()}로
+ * 안내 문구가 실제로 출력될 때까지 기다린다.
+ * 출력 대상은 켤 때의 System.out이며, 프로그램이 종료될 때 남은 내용을 모두 내보낸다.
+ * </p>
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * ConsoleSink.enable(8192, ConsoleSink.OverflowPolicy.COALESCE);
+ * // 여러 작업 스레드에서
+ * PrintArrayToolStatic.printArray(result);
+ * ConsoleSink.println("done: " + id);
+ * 
+ * ConsoleSink.flush();
+ * </code>
+ * </pre>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public final class ConsoleSink {
+	/**
+	 * 버퍼가 가득 찼을 때 {@link ConsoleSink#print(CharSequence)}의 동작.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * 자리가 날 때까지 호출한 스레드를 기다리게 한다. (배압)
+		 */
+		BLOCK,
+		
+		/**
+		 * 출력 내용을 버린다.
+		 */
+		DROP,
+		
+		/**
+		 * 넘친 내용을 하나의 보조 버퍼에 이어 붙여 두었다가 한 번에 출력한다.
+		 * 보조 버퍼마저 {@link ConsoleSink#MAX_COALESCE_CHARS}를 넘으면 BLOCK처럼 기다린다.
+		 */
+		COALESCE
+	}
+	
+	/**
+	 * 기본 버퍼 용량. (출력 호출 수)
+	 */
+	public static final int DEFAULT_CAPACITY = 8192;
+	
+	/**
+	 * {@link OverflowPolicy#COALESCE}에서 보조 버퍼에 모아 둘 수 있는 최대 문자 수.
+	 */
+	public static final int MAX_COALESCE_CHARS = 1 << 20;
+	
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+	
+	private static volatile Ring active = null;
+	private static boolean shutdownHookAdded = false;
+	
+	/**
+	 * 유틸리티로 사용할 것이므로 객체 생성 방지.
+	 */
+	private ConsoleSink() {}
+	
+	/**
+	 * 기본 용량({@link #DEFAULT_CAPACITY})과 {@link OverflowPolicy#BLOCK}으로 비동기 출력을 켠다.
+	 * @see #enable(int, OverflowPolicy)
+	 */
+	public static void enable() {
+		enable(DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+	}
+	
+	/**
+	 * 비동기 출력을 켠다. 이미 켜져 있으면 남은 내용을 모두 내보낸 뒤 새 설정으로 다시 켠다.
+	 * @param capacity - 버퍼에 담을 수 있는 최대 출력 호출 수. 2의 거듭제곱으로 올림된다.
+	 * @param policy - 버퍼가 가득 찼을 때의 동작.
+	 */
+	public static synchronized void enable(int capacity, OverflowPolicy policy) {
+		if (capacity <= 0 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("잘못된 용량: " + capacity);
+		}
+		if (policy == null) {
+			throw new NullPointerException("policy");
+		}
+		disable();
+		if (!shutdownHookAdded) {
+			Runtime.getRuntime().addShutdownHook(new Thread(ConsoleSink::disable, "ConsoleSink-shutdown"));
+			shutdownHookAdded = true;
+		}
+		active = new Ring(capacity, policy, System.out);
+	}
+	
+	/**
+	 * 남은 내용을 모두 내보낸 뒤 비동기 출력을 끈다. 이후의 출력은 System.out으로 곧바로 나간다.
+	 * disable()과 동시에 넣은 내용은 출력되지 않을 수 있다.
+	 */
+	public static synchronized void disable() {
+		Ring ring = active;
+		if (ring == null) {
+			return;
+		}
+		active = null;
+		ring.close();
+	}
+	
+	/**
+	 * 비동기 출력이 켜져 있는지 확인.
+	 * @return boolean
+	 */
+	public static boolean isEnabled() {
+		return active != null;
+	}
+	
+	/**
+	 * 내용을 출력한다. 비동기 출력이 켜져 있으면 버퍼에 넣고 바로 반환한다.
+	 * @param text - 출력할 내용.
+	 */
+	public static void print(CharSequence text) {
+		String value = String.valueOf(text);
+		Ring ring = active;
+		if (ring == null || !ring.offer(value)) {
+			System.out.print(value);
+		}
+	}
+	
+	/**
+	 * 내용을 출력하고 줄을 바꾼다. 내용과 줄바꿈은 하나로 묶여 다른 출력과 섞이지 않는다.
+	 * @param text - 출력할 내용.
+	 */
+	public static void println(CharSequence text) {
+		print(String.valueOf(text) + LINE_SEPARATOR);
+	}
+	
+	/**
+	 * 줄을 바꾼다.
+	 */
+	public static void println() {
+		print(LINE_SEPARATOR);
+	}
+	
+	/**
+	 * 이 메서드를 호출하기 전까지 넣은 내용이 모두 표준 출력에 쓰이고 flush될 때까지 기다린다.
+	 * 비동기 출력이 꺼져 있으면 System.out.flush()와 같다.
+	 */
+	public static void flush() {
+		Ring ring = active;
+		if (ring == null) {
+			System.out.flush();
+			return;
+		}
+		ring.awaitWritten();
+	}
+	
+	/**
+	 * 버퍼에 쌓여 아직 출력되지 않은 출력 호출 수를 반환. 꺼져 있으면 0.
+	 * @return long
+	 */
+	public static long getQueueDepth() {
+		Ring ring = active;
+		return ring == null ? 0 : ring.queueDepth();
+	}
+	
+	/**
+	 * 현재 설정으로 켠 뒤 {@link OverflowPolicy#DROP}으로 버려진 출력 호출 수를 반환.
+	 * @return long
+	 */
+	public static long getDroppedCount() {
+		Ring ring = active;
+		return ring == null ? 0 : ring.dropped.sum();
+	}
+	
+	/**
+	 * 현재 설정으로 켠 뒤 {@link OverflowPolicy#COALESCE}로 보조 버퍼에 모인 출력 호출 수를 반환.
+	 * @return long
+	 */
+	public static long getCoalescedCount() {
+		Ring ring = active;
+		return ring == null ? 0 : ring.coalesced.sum();
+	}
+	
+	/**
+	 * 한 번 켤 때마다 만들어지는 링 버퍼와 출력 스레드.
+	 */
+	private static final class Ring {
+		private static final long FULL_PARK_NANOS = 50_000L;
+		private static final int SPINS_BEFORE_PARK = 64;
+		
+		private final OverflowPolicy policy;
+		private final PrintStream out;
+		
+		// sequence[i]로 각 칸이 비었는지(쓰기 가능) 찼는지(읽기 가능)를 표시한다.
+		private final int mask;
+		private final String[] texts;
+		private final AtomicLongArray sequence;
+		private final AtomicLong tail = new AtomicLong();
+		private volatile long head = 0;
+		
+		// COALESCE의 보조 버퍼. 내용이 남아 있는 동안에는 모든 출력이 여기에 이어 붙는다.
+		private final Object overflowLock = new Object();
+		private final StringBuilder overflow = new StringBuilder();
+		private volatile boolean overflowPending = false;
+		private long overflowAppended = 0;
+		private volatile long overflowWritten = 0;
+		
+		private final Thread drainer;
+		private volatile boolean closed = false;
+		private volatile boolean drainerParked = false;
+		
+		private final LongAdder dropped = new LongAdder();
+		private final LongAdder coalesced = new LongAdder();
+		
+		Ring(int capacity, OverflowPolicy policy, PrintStream out) {
+			int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+			mask = size - 1;
+			texts = new String[size];
+			sequence = new AtomicLongArray(size);
+			for (int i = 0; i < size; i++) {
+				sequence.set(i, i);
+			}
+			this.policy = policy;
+			this.out = out;
+			
+			drainer = new Thread(this::runDrainer, "ConsoleSink");
+			drainer.setDaemon(true);
+			drainer.start();
+		}
+		
+		/**
+		 * @return 버퍼에 넣었거나 정책에 따라 버렸으면 true, 이미 닫혀서 처리하지 못했으면 false.
+		 */
+		boolean offer(String text) {
+			int spins = 0;
+			
+			while (!closed) {
+				if (overflowPending && policy == OverflowPolicy.COALESCE) {
+					if (coalesce(text)) {
+						return true;
+					}
+				} else {
+					long pos = tail.get();
+					int index = (int) pos & mask;
+					long diff = sequence.get(index) - pos;
+					
+					if (diff == 0) {
+						if (tail.compareAndSet(pos, pos + 1)) {
+							texts[index] = text;
+							// volatile 쓰기 뒤에 drainerParked를 읽어야 출력 스레드가 
+							// 잠들기 직전에 넣은 내용을 놓치지 않는다.
+							sequence.set(index, pos + 1);
+							wakeDrainer();
+							return true;
+						}
+						continue;
+					}
+					if (diff < 0) {
+						// 버퍼가 가득 참.
+						if (policy == OverflowPolicy.DROP) {
+							dropped.increment();
+							return true;
+						}
+						if (policy == OverflowPolicy.COALESCE && coalesce(text)) {
+							return true;
+						}
+					}
+				}
+				if (++spins < SPINS_BEFORE_PARK) {
+					Thread.onSpinWait();
+				} else {
+					LockSupport.parkNanos(this, FULL_PARK_NANOS);
+				}
+			}
+			return false;
+		}
+		
+		/**
+		 * 보조 버퍼에 이어 붙인다. 보조 버퍼가 가득 찼으면 false.
+		 */
+		private boolean coalesce(String text) {
+			synchronized (overflowLock) {
+				if (overflow.length() > 0 && overflow.length() + text.length() > MAX_COALESCE_CHARS) {
+					return false;
+				}
+				overflow.append(text);
+				overflowAppended++;
+				overflowPending = true;
+			}
+			coalesced.increment();
+			wakeDrainer();
+			return true;
+		}
+		
+		private void wakeDrainer() {
+			if (drainerParked) {
+				LockSupport.unpark(drainer);
+			}
+		}
+		
+		long queueDepth() {
+			return Math.max(0, tail.get() - head);
+		}
+		
+		/**
+		 * 지금까지 넣은 내용이 모두 출력될 때까지 기다린다.
+		 */
+		void awaitWritten() {
+			long target = tail.get();
+			long overflowTarget;
+			synchronized (overflowLock) {
+				overflowTarget = overflowAppended;
+			}
+			while ((head < target || overflowWritten < overflowTarget) && drainer.isAlive()) {
+				LockSupport.unpark(drainer);
+				LockSupport.parkNanos(this, FULL_PARK_NANOS);
+			}
+		}
+		
+		void close() {
+			closed = true;
+			LockSupport.unpark(drainer);
+			boolean interrupted = false;
+			while (drainer.isAlive()) {
+				try {
+					drainer.join();
+				} catch (InterruptedException exp) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		/**
+		 * 출력 스레드의 본체.
+		 * 링 버퍼에 쌓인 내용을 모두 꺼내 한 번에 출력하고, 차지된 자리까지 모두 출력되어 
+		 * 링 버퍼가 완전히 비었을 때 보조 버퍼를 출력한다.
+		 * 보조 버퍼에 든 내용은 링 버퍼에 먼저 들어간 내용보다 뒤에 넣은 것이므로 순서가 유지된다.
+		 */
+		private void runDrainer() {
+			StringBuilder batch = new StringBuilder();
+			
+			while (true) {
+				long pos = drain(batch);
+				if (pos != head) {
+					write(batch);
+					head = pos;
+					continue;
+				}
+				// 자리를 차지했지만 아직 내용을 넣지 않은 생산자가 있으면 그 내용이 보조 버퍼보다 먼저이므로 
+				// 링 버퍼가 완전히 빌 때까지 보조 버퍼를 출력하지 않는다.
+				if (overflowPending && head == tail.get()) {
+					long appended;
+					synchronized (overflowLock) {
+						batch.setLength(0);
+						batch.append(overflow);
+						overflow.setLength(0);
+						appended = overflowAppended;
+						overflowPending = false;
+					}
+					write(batch);
+					overflowWritten = appended;
+					continue;
+				}
+				if (closed && head == tail.get()) {
+					break;
+				}
+				// drainerParked를 먼저 기록한 뒤 다시 확인하므로, 생산자가 넣은 내용을 
+				// 이 확인에서 보지 못했다면 생산자는 반드시 drainerParked를 보고 깨운다.
+				drainerParked = true;
+				if (!isReadable(head) && !(overflowPending && head == tail.get()) && !closed) {
+					LockSupport.park(this);
+				}
+				drainerParked = false;
+			}
+		}
+		
+		private boolean isReadable(long pos) {
+			return sequence.get((int) pos & mask) == pos + 1;
+		}
+		
+		/**
+		 * 읽을 수 있는 내용을 최대 용량만큼 꺼내 batch에 이어 붙인다.
+		 * 꺼낸 칸은 곧바로 생산자에게 돌려준다.
+		 * @return 다음에 읽을 위치.
+		 */
+		private long drain(StringBuilder batch) {
+			batch.setLength(0);
+			long pos = head;
+			long end = pos + texts.length;
+			
+			while (pos < end && isReadable(pos)) {
+				int index = (int) pos & mask;
+				batch.append(texts[index]);
+				texts[index] = null;
+				sequence.lazySet(index, pos + texts.length);
+				pos++;
+			}
+			return pos;
+		}
+		
+		private void write(StringBuilder batch) {
+			out.append(batch);
+			out.flush();
+		}
+	}
+	
+}
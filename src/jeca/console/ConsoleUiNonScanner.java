@@ -68,7 +68,8 @@ public class ConsoleUiNonScanner {
 	 * @see {@link #requestUserInput(String)}
 	 */
 	public void requestUserInput() throws IOException {
-		System.out.print("키보드로 문자 하나 입력: ");
+		ConsoleSink.print("키보드로 문자 하나 입력: ");
+		ConsoleSink.flush();
 		userInputInInt = System.in.read();
 		System.in.skip(2);
 		userInputInChar = (char)userInputInInt;
@@ -88,7 +89,8 @@ public class ConsoleUiNonScanner {
 	 * @see {@link #requestUserInput(String)}
 	 */
 	public void requestUserInput(String prompt) throws IOException {
-		System.out.print(prompt);
+		ConsoleSink.print(prompt);
+		ConsoleSink.flush();
 		userInputInInt = System.in.read();
 		System.in.skip(2);
 		userInputInChar = (char)userInputInInt;
@@ -210,7 +212,8 @@ public class ConsoleUiNonScanner {
 		}
 		
 		if (userInput == exitChar) {
-			System.out.println(exitMsg);
+			ConsoleSink.println(exitMsg);
+			ConsoleSink.flush();
 			return true;
 		}
 		return false;
@@ -299,7 +302,7 @@ public class ConsoleUiNonScanner {
 	 * 개행 메서드. 콘솔창에서 빈 한 줄 형성에 사용될 수 있다.
 	 */
 	public void printNewLine() {
-		System.out.println();
+		ConsoleSink.println();
 	}
 	
 	/**
@@ -307,8 +310,8 @@ public class ConsoleUiNonScanner {
 	 * @param repeat - 몇 줄을 개행할 것인지 정수형으로 입력. 
 	 */
 	public void printNewLine(int repeat) {
-		for (int i = 0; i < repeat; i++) {
-			System.out.println();
+		if (repeat > 0) {
+			ConsoleSink.print(System.lineSeparator().repeat(repeat));
 		}
 	}
 	
@@ -1,5 +1,9 @@
 package jeca.console;
 
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 import java.util.Scanner;
 import java.util.InputMismatchException;
 
@@ -8,6 +12,32 @@ import java.util.InputMismatchException;
  * 사용자로부터 데이터 입력 받을 때 Scanner 클래스를 사용하였기에 
  * 두 개 이상의 연속된 문자열을 입력받을 수 있다.
  * 
+ * <p>
+ * 스크립트가 파이프로 많은 응답을 넘겨주는 경우에는 InputStream이나 
+ * ReadableByteChannel을 받는 생성자로 일괄 입력 모드를 사용할 수 있다. 
+ * 이 모드는 Scanner 대신 큰 버퍼와 직접 구현한 토큰 분리기로 입력을 읽으므로 
+ * 정규식을 사용하지 않으며, 정수 입력은 토큰마다 객체를 만들지 않고 변환한다. 
+ * 입력 안내 문구는 생략할 수 있고, 그 밖의 메서드 동작은 Scanner를 사용할 때와 같다. 
+ * </p>
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * // 예) seq 1 100000 | java MyTool
+ * ConsoleUiScanner console = new ConsoleUiScanner(System.in, false);
+ * while (console.hasNextInput()) {
+ *     if (console.requestUserInputInt()) {
+ *         total += console.getUserInputInt();
+ *     } else {
+ *         // 정수가 아닌 토큰은 소비되지 않으므로 직접 읽어서 건너뛴다.
+ *         console.requestUserInput();
+ *     }
+ * }
+ * </code>
+ * </pre>
+ * 
  * <div>
  * 제작자 정보
  * <ul>
@@ -28,7 +58,63 @@ public class ConsoleUiScanner {
 	private String exitChar;
 	private boolean exitCharIgnored = false;
 	private int userInputInt;
-	private Scanner scan = new Scanner(System.in);
+	private Scanner scan;
+	private ByteTokenizer tokens;
+	private boolean promptEnabled = true;
+	
+	/**
+	 * 표준 입력을 Scanner로 읽는 대화형 모드.
+	 */
+	public ConsoleUiScanner() {
+		scan = new Scanner(System.in);
+	}
+	
+	/**
+	 * 입력 스트림을 큰 버퍼로 읽는 일괄 입력 모드. 문자 인코딩은 플랫폼 기본값을 사용한다.
+	 * @param in - 읽을 입력. 예) System.in
+	 * @param promptEnabled - false이면 입력 안내 문구를 출력하지 않는다.
+	 */
+	public ConsoleUiScanner(InputStream in, boolean promptEnabled) {
+		this(in, Charset.defaultCharset(), promptEnabled);
+	}
+	
+	/**
+	 * 입력 스트림을 큰 버퍼로 읽는 일괄 입력 모드.
+	 * @param in - 읽을 입력. 예) System.in
+	 * @param charset - 입력의 문자 인코딩. 공백과 줄바꿈을 한 바이트로 인코딩해야 한다. 예) UTF-8
+	 * @param promptEnabled - false이면 입력 안내 문구를 출력하지 않는다.
+	 */
+	public ConsoleUiScanner(InputStream in, Charset charset, boolean promptEnabled) {
+		this(Channels.newChannel(in), charset, promptEnabled);
+	}
+	
+	/**
+	 * 채널을 큰 버퍼로 읽는 일괄 입력 모드.
+	 * @param in - 읽을 입력 채널.
+	 * @param charset - 입력의 문자 인코딩. 공백과 줄바꿈을 한 바이트로 인코딩해야 한다. 예) UTF-8
+	 * @param promptEnabled - false이면 입력 안내 문구를 출력하지 않는다.
+	 */
+	public ConsoleUiScanner(ReadableByteChannel in, Charset charset, boolean promptEnabled) {
+		tokens = new ByteTokenizer(in, charset, ByteTokenizer.DEFAULT_BUFFER_SIZE);
+		this.promptEnabled = promptEnabled;
+	}
+	
+	/**
+	 * 입력을 요청할 때 안내 문구를 출력할지 지정. 기본값은 true.
+	 * @param promptEnabled - false이면 입력 안내 문구를 출력하지 않는다.
+	 */
+	public void setPromptEnabled(boolean promptEnabled) {
+		this.promptEnabled = promptEnabled;
+	}
+	
+	/**
+	 * 더 읽을 입력이 남아 있는지 확인한다. 입력이 더 들어올 때까지 기다릴 수 있다. 
+	 * 파이프로 넘어온 입력을 끝까지 처리할 때 사용한다.
+	 * @return boolean
+	 */
+	public boolean hasNextInput() {
+		return tokens != null ? tokens.hasNext() : scan.hasNext();
+	}
 	
 	/**
 	 * 사용자로부터 입력받은 문자열을 반환.
@@ -86,8 +172,8 @@ public class ConsoleUiScanner {
 	 * @see {@link #getUserInputLowerCase()}
 	 */
 	public void requestUserInput() {
-		System.out.print("입력: ");
-		userInput = scan.next();
+		showPrompt("입력: ");
+		userInput = nextToken();
 		userInputIgnored = userInput.toLowerCase();
 	}
 	
@@ -103,8 +189,8 @@ public class ConsoleUiScanner {
 	 * @see {@link #getUserInputLowerCase()}
 	 */
 	public void requestUserInput(String prompt) {
-		System.out.print(prompt);
-		userInput = scan.next();
+		showPrompt(prompt);
+		userInput = nextToken();
 		userInputIgnored = userInput.toLowerCase();
 	}
 	
@@ -123,13 +209,15 @@ public class ConsoleUiScanner {
 	 * </li>
 	 * <li>
 	 * 	   false : 사용자가 정수형이 아닌 문자열을 입력한 경우.
+	 *     이때 입력한 문자열은 소비되지 않고 입력에 남아 있으므로, 
+	 *     다음 입력을 받으려면 {@link #requestUserInput()} 등으로 먼저 읽어서 건너뛰어야 한다.
 	 * </li>
 	 * @see {@link #getUserInputInt()}
 	 */
 	public boolean requestUserInputInt() {
-		System.out.print("숫자 입력: ");
+		showPrompt("숫자 입력: ");
 		try {
-			userInputInt = scan.nextInt();
+			userInputInt = nextIntToken();
 			userInput = String.valueOf(userInputInt);
 		} catch(InputMismatchException imex) {
 			return false;
@@ -153,13 +241,15 @@ public class ConsoleUiScanner {
 	 * </li>
 	 * <li>
 	 * 	   false : 사용자가 정수형이 아닌 문자열을 입력한 경우.
+	 *     이때 입력한 문자열은 소비되지 않고 입력에 남아 있으므로, 
+	 *     다음 입력을 받으려면 {@link #requestUserInput()} 등으로 먼저 읽어서 건너뛰어야 한다.
 	 * </li>
 	 * @see {@link #getUserInputInt()}
 	 */
 	public boolean requestUserInputInt(String prompt) {
-		System.out.print(prompt);
+		showPrompt(prompt);
 		try {
-			userInputInt = scan.nextInt();
+			userInputInt = nextIntToken();
 			userInput = String.valueOf(userInputInt);
 		} catch(InputMismatchException imex) {
 			return false;
@@ -307,7 +397,8 @@ public class ConsoleUiScanner {
 		}
 		
 		if (userInput.equals(exitChar)) {
-			System.out.println(exitMsg);
+			ConsoleSink.println(exitMsg);
+			ConsoleSink.flush();
 			return true;
 		}
 		return false;
@@ -436,7 +527,7 @@ public class ConsoleUiScanner {
 	 * 개행 메서드. 콘솔창에서 빈 한 줄 형성에 사용될 수 있다.
 	 */
 	public void printNewLine() {
-		System.out.println();
+		ConsoleSink.println();
 	}
 	
 	/**
@@ -444,9 +535,24 @@ public class ConsoleUiScanner {
 	 * @param repeat - 몇 줄을 개행할 것인지 정수형으로 입력. 
 	 */
 	public void printNewLine(int repeat) {
-		for (int i = 0; i < repeat; i++) {
-			System.out.println();
+		if (repeat > 0) {
+			ConsoleSink.print(System.lineSeparator().repeat(repeat));
+		}
+	}
+	
+	private void showPrompt(String prompt) {
+		if (promptEnabled) {
+			ConsoleSink.print(prompt);
+			ConsoleSink.flush();
 		}
 	}
 	
+	private String nextToken() {
+		return tokens != null ? tokens.next() : scan.next();
+	}
+	
+	private int nextIntToken() {
+		return tokens != null ? tokens.nextInt() : scan.nextInt();
+	}
+	
 }
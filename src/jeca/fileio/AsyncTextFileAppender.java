@@ -0,0 +1,433 @@
+package jeca.fileio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 여러 스레드가 한 텍스트 파일에 줄 단위로 기록할 때 사용하는 비동기 기록 클래스. 
+ * 
+ * <p>
+ * {@link #append(CharSequence)}는 잠금 없는 고정 크기 링 버퍼에 줄을 넣기만 하고 바로 반환하므로 
+ * 호출한 스레드는 디스크 입출력을 기다리지 않는다. 
+ * 전용 기록 스레드 하나가 버퍼에 쌓인 줄들을 한꺼번에 꺼내 한 번의 쓰기로 파일에 기록하고, 
+ * 설정에 따라 그 뒤에 한 번만 디스크 동기화(fsync)를 한다. (그룹 커밋) 
+ * 줄은 서로 섞이지 않으며, 같은 스레드가 추가한 줄은 추가한 순서대로 기록된다. 
+ * </p>
+ * 
+ * <p>
+ * 버퍼가 가득 찼을 때의 동작은 {@link OverflowPolicy}로 정한다. 
+ * 대기열 길이, 기록 및 버린 줄 수, 추가부터 기록 완료까지의 지연 시간은 
+ * getXXX() 메서드로 조회할 수 있다.
+ * </p>
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * try (AsyncTextFileAppender audit = new AsyncTextFileAppender("audit.log", true, 
+ *         8192, AsyncTextFileAppender.OverflowPolicy.BLOCK, true)) {
+ *     // 여러 스레드에서
+ *     audit.append("user=" + id + " action=login");
+ * }
+ * </code>
+ * </pre>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public final class AsyncTextFileAppender implements AutoCloseable {
+	/**
+	 * 버퍼가 가득 찼을 때 {@link AsyncTextFileAppender#append(CharSequence)}의 동작.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * 자리가 날 때까지 호출한 스레드를 기다리게 한다. (배압)
+		 */
+		BLOCK, 
+		
+		/**
+		 * 줄을 버리고 바로 false를 반환한다.
+		 */
+		DROP
+	}
+	
+	/**
+	 * 기본 버퍼 용량. (줄 수)
+	 */
+	public static final int DEFAULT_CAPACITY = 8192;
+	
+	private static final int OUTPUT_BUFFER_SIZE = 256 * 1024;
+	private static final long FULL_PARK_NANOS = 50_000L;
+	private static final int SPINS_BEFORE_PARK = 64;
+	
+	private final OverflowPolicy policy;
+	private final boolean syncOnCommit;
+	private final Charset charset;
+	private final FileChannel channel;
+	
+	// 링 버퍼. sequence[i]로 각 칸이 비었는지(쓰기 가능) 찼는지(읽기 가능)를 표시한다.
+	private final int mask;
+	private final String[] lines;
+	private final long[] enqueueNanos;
+	private final AtomicLongArray sequence;
+	private final AtomicLong tail = new AtomicLong();
+	private volatile long head = 0;
+	
+	private final Thread writer;
+	private volatile boolean closed = false;
+	private volatile boolean writerParked = false;
+	private volatile IOException failure = null;
+	
+	// 측정값. written 이하의 값은 기록 스레드만 갱신한다.
+	private final LongAdder enqueued = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private volatile long written = 0;
+	private volatile long batches = 0;
+	private volatile long totalLatencyNanos = 0;
+	private volatile long maxLatencyNanos = 0;
+	
+	/**
+	 * 기본 용량({@link #DEFAULT_CAPACITY}), {@link OverflowPolicy#BLOCK}, 
+	 * 플랫폼 기본 문자 인코딩으로 디스크 동기화 없이 파일을 연다.
+	 * @param path - 데이터를 쓸 텍스트 파일 경로.
+	 * @param append - 기존 텍스트 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @throws IOException 파일을 열 수 없는 경우.
+	 */
+	public AsyncTextFileAppender(String path, boolean append) throws IOException {
+		this(path, append, DEFAULT_CAPACITY, OverflowPolicy.BLOCK, false);
+	}
+	
+	/**
+	 * @param path - 데이터를 쓸 텍스트 파일 경로.
+	 * @param append - 기존 텍스트 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @param capacity - 버퍼에 담을 수 있는 최대 줄 수. 2의 거듭제곱으로 올림된다.
+	 * @param policy - 버퍼가 가득 찼을 때의 동작.
+	 * @param syncOnCommit - true이면 한 묶음을 쓸 때마다 디스크 동기화(fsync)까지 한다.
+	 * @throws IOException 파일을 열 수 없는 경우.
+	 */
+	public AsyncTextFileAppender(String path, boolean append, int capacity, 
+			OverflowPolicy policy, boolean syncOnCommit) throws IOException {
+		this(path, append, capacity, policy, syncOnCommit, Charset.defaultCharset());
+	}
+	
+	/**
+	 * @param path - 데이터를 쓸 텍스트 파일 경로.
+	 * @param append - 기존 텍스트 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @param capacity - 버퍼에 담을 수 있는 최대 줄 수. 2의 거듭제곱으로 올림된다.
+	 * @param policy - 버퍼가 가득 찼을 때의 동작.
+	 * @param syncOnCommit - true이면 한 묶음을 쓸 때마다 디스크 동기화(fsync)까지 한다.
+	 * @param charset - 파일에 쓸 문자 인코딩.
+	 * @throws IOException 파일을 열 수 없는 경우.
+	 */
+	public AsyncTextFileAppender(String path, boolean append, int capacity, 
+			OverflowPolicy policy, boolean syncOnCommit, Charset charset) throws IOException {
+		if (capacity <= 0 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("잘못된 용량: " + capacity);
+		}
+		int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		mask = size - 1;
+		lines = new String[size];
+		enqueueNanos = new long[size];
+		sequence = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequence.set(i, i);
+		}
+		
+		this.policy = policy;
+		this.syncOnCommit = syncOnCommit;
+		this.charset = charset;
+		channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE, 
+				append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+		
+		writer = new Thread(this::runWriter, "AsyncTextFileAppender-" + Paths.get(path).getFileName());
+		writer.setDaemon(true);
+		writer.start();
+	}
+	
+	/**
+	 * 한 줄을 기록 대기열에 추가한다. 끝에 줄바꿈 문자("\n")가 붙어 기록된다. 
+	 * 
+	 * @param line - 기록할 줄.
+	 * @return
+	 * <ul>
+	 * <li> 
+	 *     true : 대기열에 추가된 경우.
+	 * </li>
+	 * <li>
+	 * 	   false : {@link OverflowPolicy#DROP} 설정에서 버퍼가 가득 찼거나, 이미 닫힌 경우.
+	 * </li>
+	 * </ul>
+	 */
+	public boolean append(CharSequence line) {
+		String text = line.toString();
+		int spins = 0;
+		
+		while (!closed) {
+			long pos = tail.get();
+			int index = (int) pos & mask;
+			long diff = sequence.get(index) - pos;
+			
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					lines[index] = text;
+					enqueueNanos[index] = System.nanoTime();
+					// 기록 스레드가 잠들기 직전에 칸을 확인하는 것과 짝을 이루도록 
+					// 칸을 채운 뒤 writerParked를 읽기 전에 완전한 메모리 장벽을 둔다.
+					sequence.set(index, pos + 1);
+					enqueued.increment();
+					if (writerParked) {
+						LockSupport.unpark(writer);
+					}
+					return true;
+				}
+			} else if (diff < 0) {
+				// 버퍼가 가득 참.
+				if (policy == OverflowPolicy.DROP) {
+					dropped.increment();
+					return false;
+				}
+				if (++spins < SPINS_BEFORE_PARK) {
+					Thread.onSpinWait();
+				} else {
+					LockSupport.parkNanos(this, FULL_PARK_NANOS);
+				}
+			}
+		}
+		dropped.increment();
+		return false;
+	}
+	
+	/**
+	 * 이 메서드를 호출하기 전까지 추가된 줄이 모두 파일에 기록될 때까지 기다린다. 
+	 * 
+	 * @throws IOException 기록 스레드에서 입출력 예외가 발생했던 경우.
+	 */
+	public void flush() throws IOException {
+		long target = tail.get();
+		while (head < target && writer.isAlive()) {
+			LockSupport.unpark(writer);
+			LockSupport.parkNanos(this, FULL_PARK_NANOS);
+		}
+		throwIfFailed();
+	}
+	
+	/**
+	 * 남은 줄을 모두 기록한 뒤 파일을 닫는다. 
+	 * close()와 동시에 추가된 줄은 기록되지 않을 수 있다.
+	 * 
+	 * @throws IOException 기록 스레드에서 입출력 예외가 발생했던 경우.
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		LockSupport.unpark(writer);
+		boolean interrupted = false;
+		while (writer.isAlive()) {
+			try {
+				writer.join();
+			} catch (InterruptedException exp) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		throwIfFailed();
+	}
+	
+	/**
+	 * 대기열에 쌓여 아직 기록되지 않은 줄 수를 반환.
+	 * @return long
+	 */
+	public long getQueueDepth() {
+		return Math.max(0, tail.get() - head);
+	}
+	
+	/**
+	 * 대기열에 추가된 줄 수를 반환.
+	 * @return long
+	 */
+	public long getEnqueuedCount() {
+		return enqueued.sum();
+	}
+	
+	/**
+	 * 파일에 기록된 줄 수를 반환. 
+	 * @return long
+	 */
+	public long getWrittenCount() {
+		return written;
+	}
+	
+	/**
+	 * 버퍼가 가득 찼거나 닫힌 뒤라서 버려진 줄 수를 반환.
+	 * @return long
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+	
+	/**
+	 * 파일에 쓴 묶음(그룹 커밋)의 수를 반환.
+	 * @return long
+	 */
+	public long getBatchCount() {
+		return batches;
+	}
+	
+	/**
+	 * 줄을 추가한 시점부터 파일에 기록(동기화 설정 시 동기화 포함)될 때까지 걸린 
+	 * 평균 시간을 나노초 단위로 반환.
+	 * @return double. 기록된 줄이 없으면 0.
+	 */
+	public double getAverageLatencyNanos() {
+		long count = written;
+		return count == 0 ? 0 : (double) totalLatencyNanos / count;
+	}
+	
+	/**
+	 * 줄을 추가한 시점부터 파일에 기록될 때까지 걸린 최대 시간을 나노초 단위로 반환.
+	 * @return long
+	 */
+	public long getMaxLatencyNanos() {
+		return maxLatencyNanos;
+	}
+	
+	private void throwIfFailed() throws IOException {
+		IOException exp = failure;
+		if (exp != null) {
+			throw exp;
+		}
+	}
+	
+	/**
+	 * 기록 스레드의 본체. 
+	 * 쌓인 줄을 모두 꺼내 한 번에 기록하고, 대기열이 비어 있으면 잠시 쉰다.
+	 */
+	private void runWriter() {
+		CharsetEncoder encoder = charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		ByteBuffer out = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+		StringBuilder batch = new StringBuilder();
+		long[] starts = new long[lines.length];
+		
+		try {
+			while (true) {
+				int count = drain(batch, starts);
+				if (count > 0) {
+					commit(batch, starts, count, encoder, out);
+					continue;
+				}
+				if (closed && head == tail.get()) {
+					break;
+				}
+				writerParked = true;
+				// writerParked를 먼저 기록하고 칸을 확인하므로, 그 사이에 추가된 줄은 
+				// 여기서 보이거나 생산자가 unpark()를 호출한다. 따라서 시간 제한 없이 잠든다.
+				if (!isReadable(head) && !closed) {
+					LockSupport.park(this);
+				}
+				writerParked = false;
+			}
+		} catch (IOException exp) {
+			failure = exp;
+			closed = true;
+		} finally {
+			try {
+				channel.close();
+			} catch (IOException exp) {
+				if (failure == null) {
+					failure = exp;
+				}
+			}
+		}
+	}
+	
+	private boolean isReadable(long pos) {
+		return sequence.get((int) pos & mask) == pos + 1;
+	}
+	
+	/**
+	 * 읽을 수 있는 줄을 모두 꺼내 batch에 이어 붙인다. 꺼낸 칸은 곧바로 생산자에게 돌려준다.
+	 */
+	private int drain(StringBuilder batch, long[] starts) {
+		batch.setLength(0);
+		long pos = head;
+		int count = 0;
+		
+		while (count < starts.length && isReadable(pos)) {
+			int index = (int) pos & mask;
+			batch.append(lines[index]).append('\n');
+			starts[count++] = enqueueNanos[index];
+			lines[index] = null;
+			sequence.lazySet(index, pos + lines.length);
+			pos++;
+		}
+		return count;
+	}
+	
+	private void commit(StringBuilder batch, long[] starts, int count, 
+			CharsetEncoder encoder, ByteBuffer out) throws IOException {
+		CharBuffer in = CharBuffer.wrap(batch);
+		encoder.reset();
+		while (encoder.encode(in, out, true).isOverflow()) {
+			writeOut(out);
+		}
+		while (encoder.flush(out).isOverflow()) {
+			writeOut(out);
+		}
+		writeOut(out);
+		if (syncOnCommit) {
+			channel.force(false);
+		}
+		
+		// 기록이 끝난 뒤에 head를 옮겨야 flush()가 기록 완료를 기다릴 수 있다.
+		head += count;
+		long now = System.nanoTime();
+		long total = totalLatencyNanos;
+		long max = maxLatencyNanos;
+		for (int i = 0; i < count; i++) {
+			long latency = now - starts[i];
+			total += latency;
+			if (latency > max) {
+				max = latency;
+			}
+		}
+		totalLatencyNanos = total;
+		maxLatencyNanos = max;
+		written += count;
+		batches++;
+	}
+	
+	private void writeOut(ByteBuffer out) throws IOException {
+		out.flip();
+		while (out.hasRemaining()) {
+			channel.write(out);
+		}
+		out.clear();
+	}
+	
+}
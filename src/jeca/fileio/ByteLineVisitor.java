@@ -0,0 +1,37 @@
+package jeca.fileio;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 파일을 문자로 디코딩하지 않고 바이트 단위로 한 줄씩 훑을 때 각 줄마다 호출되는 콜백.
+ * 
+ * @author JeroCaller
+ * @see MappedLineReader#forEachLine(ByteLineVisitor)
+ */
+@FunctionalInterface
+public interface ByteLineVisitor {
+	
+	/**
+	 * 한 줄을 처리한다. 
+	 * 
+	 * 줄의 내용은 buffer의 [start, end) 구간이며 줄바꿈 문자("\n", "\r\n")는 포함되지 않는다. 
+	 * buffer는 파일을 메모리에 매핑한 영역이므로 buffer.get(i)처럼 절대 위치로만 읽고, 
+	 * position이나 limit을 바꾸지 말 것. 이 메서드가 반환된 뒤에는 buffer를 사용해서는 안 된다. 
+	 * 
+	 * @param buffer - 줄이 담긴 버퍼.
+	 * @param start - 줄의 시작 위치. 해당 위치도 포함됨.
+	 * @param end - 줄의 끝 위치. 해당 위치는 포함되지 않음.
+	 * @param lineNumber - 1부터 시작하는 줄 번호.
+	 * @return
+	 * <ul>
+	 * <li>
+	 *     true : 다음 줄을 계속 읽는다.
+	 * </li>
+	 * <li>
+	 *     false : 읽기를 멈춘다.
+	 * </li>
+	 * </ul>
+	 */
+	boolean visit(ByteBuffer buffer, int start, int end, long lineNumber);
+	
+}
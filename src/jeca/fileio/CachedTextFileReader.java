@@ -0,0 +1,382 @@
+package jeca.fileio;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 같은 텍스트 파일을 반복해서 읽을 때 파일 내용을 메모리에 보관해두고 재사용하는 클래스. 
+ * 설정 파일처럼 자주 읽지만 드물게 바뀌는 파일에 사용한다. 
+ * 
+ * <p>
+ * 파일을 읽을 때마다 파일의 마지막 수정 시각과 크기만 확인하고, 
+ * 보관된 내용을 읽은 뒤 바뀌지 않았으면 디스크를 읽지 않고 보관된 문자열을 그대로 반환한다. 
+ * 보관된 내용의 총 크기가 최대 크기를 넘으면 가장 오래 사용하지 않은 파일부터 제거한다. (LRU) 
+ * 여러 스레드가 동시에 같은 파일을 요청하면 한 스레드만 파일을 읽고 나머지는 그 결과를 함께 사용한다. 
+ * 이 클래스는 스레드 안전하다.
+ * </p>
+ * 
+ * <p>
+ * 반환되는 텍스트의 형식은 {@link TextFileIO#readText(boolean)}와 같다. 
+ * 같은 초 안에 크기 변화 없이 수정된 경우처럼 파일 시스템의 시각 정밀도로 구분할 수 없는 변경은 
+ * 감지하지 못할 수 있으므로 필요하면 {@link #invalidate(String)}를 호출한다.
+ * </p>
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * CachedTextFileReader cache = new CachedTextFileReader(16 * 1024 * 1024, StandardCharsets.UTF_8);
+ * String config = cache.readText("conf/app.properties");
+ * List&lt;String&gt; rules = cache.readLines("conf/rules.txt");
+ * </code>
+ * </pre>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public class CachedTextFileReader {
+	/**
+	 * 기본 최대 보관 크기. (바이트)
+	 */
+	public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+	
+	/**
+	 * 항목 하나당 문자열 외에 추가로 드는 메모리의 대략적인 크기. (바이트)
+	 */
+	private static final long ENTRY_OVERHEAD = 128;
+	
+	/**
+	 * 줄 목록의 줄 하나당 문자열 외에 추가로 드는 메모리의 대략적인 크기. (바이트)
+	 */
+	private static final long LINE_OVERHEAD = 48;
+	
+	private final long maxBytes;
+	private final Charset charset;
+	
+	/** 접근 순서로 정렬된 보관 항목. 이 객체로 동기화한다. */
+	private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long cachedBytes = 0;
+	
+	private final ConcurrentHashMap<Path, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+	
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder loads = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	
+	/**
+	 * 기본 최대 크기({@link #DEFAULT_MAX_BYTES})와 플랫폼 기본 문자 인코딩을 사용한다.
+	 */
+	public CachedTextFileReader() {
+		this(DEFAULT_MAX_BYTES, Charset.defaultCharset());
+	}
+	
+	/**
+	 * @param maxBytes - 보관할 파일 내용의 최대 총 크기. (바이트, 메모리상 크기 기준) 
+	 * 이보다 큰 파일은 보관하지 않고 매번 읽는다.
+	 * @param charset - 파일의 문자 인코딩.
+	 */
+	public CachedTextFileReader(long maxBytes, Charset charset) {
+		if (maxBytes < 0) {
+			throw new IllegalArgumentException("maxBytes < 0: " + maxBytes);
+		}
+		this.maxBytes = maxBytes;
+		this.charset = charset;
+	}
+	
+	/**
+	 * 파일 내용을 반환한다. 보관된 내용이 최신이면 디스크를 읽지 않는다.
+	 * @param path - 읽을 파일 경로.
+	 * @return 파일 내용. 각 줄 뒤에 "\n"이 붙는다.
+	 * @throws IOException 파일이 없거나 읽는 도중 예외가 발생한 경우.
+	 */
+	public String readText(String path) throws IOException {
+		return get(path).text;
+	}
+	
+	/**
+	 * 파일 내용을 줄 단위로 나눈 목록을 반환한다. 
+	 * 나눈 결과도 함께 보관하므로 파일이 바뀌지 않았으면 다시 나누지 않는다. 
+	 * 나눈 결과도 최대 보관 크기에 포함되므로, 보관된 다른 파일이 제거될 수 있다.
+	 * @param path - 읽을 파일 경로.
+	 * @return 수정할 수 없는 줄 목록. 줄바꿈 문자는 포함되지 않는다.
+	 * @throws IOException 파일이 없거나 읽는 도중 예외가 발생한 경우.
+	 */
+	public List<String> readLines(String path) throws IOException {
+		Entry entry = get(path);
+		List<String> lines = entry.lines;
+		if (lines == null) {
+			lines = attachLines(toKey(path), entry, splitLines(entry.text));
+		}
+		return lines;
+	}
+	
+	/**
+	 * 특정 파일의 보관된 내용을 제거한다. 다음 요청 시 디스크에서 다시 읽는다.
+	 * @param path - 파일 경로.
+	 */
+	public void invalidate(String path) {
+		Path key = toKey(path);
+		synchronized (entries) {
+			Entry removed = entries.remove(key);
+			if (removed != null) {
+				cachedBytes -= removed.weight;
+			}
+		}
+	}
+	
+	/**
+	 * 보관된 모든 내용을 제거한다.
+	 */
+	public void invalidateAll() {
+		synchronized (entries) {
+			entries.clear();
+			cachedBytes = 0;
+		}
+	}
+	
+	/**
+	 * 보관된 내용을 그대로 사용한 횟수를 반환.
+	 * @return long
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+	
+	/**
+	 * 보관된 내용이 없거나 오래되어 사용하지 못한 횟수를 반환.
+	 * @return long
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+	
+	/**
+	 * 실제로 디스크에서 파일을 읽은 횟수를 반환. 
+	 * 동시에 요청된 같은 파일은 한 번만 읽으므로 {@link #getMissCount()}보다 작을 수 있다.
+	 * @return long
+	 */
+	public long getLoadCount() {
+		return loads.sum();
+	}
+	
+	/**
+	 * 최대 크기를 넘어 제거된 항목 수를 반환.
+	 * @return long
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+	
+	/**
+	 * 요청 중 보관된 내용을 사용한 비율을 반환.
+	 * @return double. 요청이 없었으면 0.
+	 */
+	public double getHitRate() {
+		long hit = hits.sum();
+		long total = hit + misses.sum();
+		return total == 0 ? 0 : (double) hit / total;
+	}
+	
+	/**
+	 * 현재 보관된 파일 수를 반환.
+	 * @return int
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+	
+	/**
+	 * 현재 보관된 내용의 대략적인 총 크기(바이트)를 반환.
+	 * @return long
+	 */
+	public long getCachedBytes() {
+		synchronized (entries) {
+			return cachedBytes;
+		}
+	}
+	
+	private Entry get(String path) throws IOException {
+		Path key = toKey(path);
+		BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+		long lastModified = attrs.lastModifiedTime().toMillis();
+		long size = attrs.size();
+		
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+		if (entry != null && entry.lastModified == lastModified && entry.size == size) {
+			hits.increment();
+			return entry;
+		}
+		misses.increment();
+		return load(key, lastModified, size);
+	}
+	
+	/**
+	 * 같은 파일을 이미 읽고 있는 스레드가 있으면 그 결과를 기다리고, 없으면 직접 읽는다.
+	 */
+	private Entry load(Path key, long lastModified, long size) throws IOException {
+		CompletableFuture<Entry> mine = new CompletableFuture<>();
+		CompletableFuture<Entry> inFlight = loading.putIfAbsent(key, mine);
+		if (inFlight != null) {
+			return await(inFlight);
+		}
+		
+		try {
+			TextFileIO io = new TextFileIO();
+			io.setCharset(charset);
+			String text = io.readTextOrThrow(key);
+			loads.increment();
+			
+			// 읽기 전에 확인한 수정 시각과 크기를 기록하므로, 읽는 도중 바뀌었다면 다음 요청에서 다시 읽는다.
+			Entry entry = new Entry(text, lastModified, size);
+			store(key, entry);
+			mine.complete(entry);
+			return entry;
+		} catch (IOException | RuntimeException exp) {
+			mine.completeExceptionally(exp);
+			throw exp;
+		} finally {
+			loading.remove(key, mine);
+		}
+	}
+	
+	private void store(Path key, Entry entry) {
+		synchronized (entries) {
+			Entry old = entry.weight <= maxBytes ? entries.put(key, entry) : entries.remove(key);
+			if (old != null) {
+				cachedBytes -= old.weight;
+			}
+			if (entry.weight > maxBytes) {
+				return;
+			}
+			cachedBytes += entry.weight;
+			evictOverflow();
+		}
+	}
+	
+	/**
+	 * 나눈 줄 목록을 항목에 붙이고 그 크기만큼 보관 크기를 늘린다. 
+	 * 다른 스레드가 먼저 붙였으면 그 목록을 반환한다.
+	 */
+	private List<String> attachLines(Path key, Entry entry, List<String> lines) {
+		synchronized (entries) {
+			if (entry.lines != null) {
+				return entry.lines;
+			}
+			long added = 0;
+			for (String line : lines) {
+				added += LINE_OVERHEAD + 2L * line.length();
+			}
+			entry.lines = lines;
+			entry.weight += added;
+			
+			// 이미 제거된 항목이면 보관 크기에 포함되지 않는다.
+			if (entries.get(key) != entry) {
+				return lines;
+			}
+			cachedBytes += added;
+			if (entry.weight > maxBytes) {
+				entries.remove(key);
+				cachedBytes -= entry.weight;
+				evictions.increment();
+				return lines;
+			}
+			evictOverflow();
+			return lines;
+		}
+	}
+	
+	/**
+	 * 보관 크기가 최대 크기 이하가 될 때까지 가장 오래 사용하지 않은 항목부터 제거한다. 
+	 * entries로 동기화한 상태에서 호출해야 한다.
+	 */
+	private void evictOverflow() {
+		Iterator<Map.Entry<Path, Entry>> eldest = entries.entrySet().iterator();
+		while (cachedBytes > maxBytes && eldest.hasNext()) {
+			Entry victim = eldest.next().getValue();
+			eldest.remove();
+			cachedBytes -= victim.weight;
+			evictions.increment();
+		}
+	}
+	
+	private static Entry await(CompletableFuture<Entry> future) throws IOException {
+		try {
+			return future.join();
+		} catch (CompletionException exp) {
+			Throwable cause = exp.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw exp;
+		}
+	}
+	
+	private static Path toKey(String path) {
+		return Paths.get(path).toAbsolutePath().normalize();
+	}
+	
+	private static List<String> splitLines(String text) {
+		List<String> lines = new ArrayList<>();
+		int start = 0;
+		int newline;
+		while ((newline = text.indexOf('\n', start)) >= 0) {
+			lines.add(text.substring(start, newline));
+			start = newline + 1;
+		}
+		if (start < text.length()) {
+			lines.add(text.substring(start));
+		}
+		return Collections.unmodifiableList(lines);
+	}
+	
+	private static final class Entry {
+		final String text;
+		final long lastModified;
+		final long size;
+		// 줄 목록을 붙이면 늘어난다. weight는 entries로 동기화한 상태에서만 읽고 쓴다.
+		long weight;
+		volatile List<String> lines = null;
+		
+		Entry(String text, long lastModified, long size) {
+			this.text = text;
+			this.lastModified = lastModified;
+			this.size = size;
+			weight = ENTRY_OVERHEAD + 2L * text.length();
+		}
+	}
+	
+}
@@ -0,0 +1,137 @@
+package jeca.fileio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 텍스트 파일을 읽고 쓸 때 적용할 압축 형식. 
+ * 
+ * @author JeroCaller
+ * @see TextFileIO#setCompression(Compression)
+ */
+public enum Compression {
+	/**
+	 * 압축하지 않은 일반 텍스트.
+	 */
+	NONE {
+		@Override
+		InputStream wrap(InputStream in, int bufferSize) {
+			return in;
+		}
+		
+		@Override
+		OutputStream wrap(OutputStream out, int level, int bufferSize) {
+			return out;
+		}
+	}, 
+	
+	/**
+	 * gzip 형식. (RFC 1952) 이어쓰기를 하면 새 gzip 멤버가 덧붙으며, 
+	 * 읽을 때는 여러 멤버를 이어서 하나의 텍스트로 읽는다. 
+	 * 쓰는 도중 flush()를 호출하면 동기화 표시(sync marker)를 넣어 그때까지의 내용을 
+	 * 파일에 내보내므로, 닫기 전에도 flush()한 곳까지는 읽을 수 있다.
+	 */
+	GZIP {
+		@Override
+		InputStream wrap(InputStream in, int bufferSize) throws IOException {
+			return new GZIPInputStream(in, bufferSize);
+		}
+		
+		@Override
+		OutputStream wrap(OutputStream out, int level, int bufferSize) throws IOException {
+			return new LeveledGZIPOutputStream(out, level, bufferSize);
+		}
+	}, 
+	
+	/**
+	 * zlib 형식의 deflate 스트림. (RFC 1950) 
+	 * 하나의 파일에 하나의 스트림만 담을 수 있으므로 이어쓰기는 지원하지 않는다. 
+	 * GZIP과 마찬가지로 flush()를 호출하면 동기화 표시를 넣어 그때까지의 내용을 내보낸다.
+	 */
+	DEFLATE {
+		@Override
+		InputStream wrap(InputStream in, int bufferSize) {
+			Inflater inflater = new Inflater();
+			return new InflaterInputStream(in, inflater, bufferSize) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						inflater.end();
+					}
+				}
+			};
+		}
+		
+		@Override
+		OutputStream wrap(OutputStream out, int level, int bufferSize) {
+			Deflater deflater = new Deflater(level);
+			return new DeflaterOutputStream(out, deflater, bufferSize, true) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						deflater.end();
+					}
+				}
+			};
+		}
+	};
+	
+	/**
+	 * 기본 버퍼 크기. (바이트)
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	
+	/**
+	 * 파일 이름의 확장자로 압축 형식을 추측한다. 
+	 * ".gz"는 {@link #GZIP}, ".zz"와 ".deflate"는 {@link #DEFLATE}, 그 외는 {@link #NONE}.
+	 * @param fileName - 파일 이름 또는 경로.
+	 * @return Compression
+	 */
+	public static Compression fromFileName(String fileName) {
+		String lower = fileName.toLowerCase();
+		if (lower.endsWith(".gz")) {
+			return GZIP;
+		}
+		if (lower.endsWith(".zz") || lower.endsWith(".deflate")) {
+			return DEFLATE;
+		}
+		return NONE;
+	}
+	
+	/**
+	 * 압축된 입력 스트림을 풀어서 읽는 스트림으로 감싼다.
+	 */
+	abstract InputStream wrap(InputStream in, int bufferSize) throws IOException;
+	
+	/**
+	 * 출력 스트림을 압축하여 쓰는 스트림으로 감싼다. 
+	 * 반환된 스트림의 flush()는 동기화 표시(Deflater.SYNC_FLUSH)를 넣고 
+	 * 그때까지 압축된 내용을 out에 모두 내보낸다. 
+	 * flush()를 자주 호출할수록 압축률은 조금씩 낮아진다.
+	 * @param level - 압축 수준. 0 ~ 9 또는 Deflater.DEFAULT_COMPRESSION(-1)
+	 */
+	abstract OutputStream wrap(OutputStream out, int level, int bufferSize) throws IOException;
+	
+	/**
+	 * 압축 수준을 지정할 수 있는 GZIPOutputStream. 
+	 * flush()를 호출하면 동기화 표시를 넣고 그때까지 압축된 내용을 내보낸다. (syncFlush)
+	 */
+	static final class LeveledGZIPOutputStream extends GZIPOutputStream {
+		LeveledGZIPOutputStream(OutputStream out, int level, int bufferSize) throws IOException {
+			super(out, bufferSize, true);
+			def.setLevel(level);
+		}
+	}
+	
+}
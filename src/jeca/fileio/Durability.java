@@ -0,0 +1,29 @@
+package jeca.fileio;
+
+/**
+ * 파일 쓰기를 마친 뒤 내용을 디스크에 어디까지 확실히 기록할지 나타내는 수준. 
+ * 수준이 높을수록 전원이 꺼지거나 운영체제가 멈춰도 안전하지만 쓰기가 느려진다.
+ * 
+ * @author JeroCaller
+ * @see TextFileIO#writeTextAtomic(String, Durability)
+ */
+public enum Durability {
+	/**
+	 * 디스크 동기화를 하지 않는다. 프로세스가 죽어도 파일이 반쯤 쓰인 상태로 남지는 않지만, 
+	 * 운영체제가 멈추면 최근 내용이 디스크에 기록되지 않았을 수 있다.
+	 */
+	NONE, 
+	
+	/**
+	 * 파일 내용을 디스크에 동기화(fsync)한 뒤 교체한다. 
+	 * 교체(이름 변경) 자체는 동기화하지 않으므로 운영체제가 멈추면 이전 파일이 남아 있을 수 있다.
+	 */
+	DATA, 
+	
+	/**
+	 * 파일 내용과 메타데이터를 동기화하고, 교체한 뒤 디렉터리까지 동기화한다. 
+	 * 메서드가 반환되면 새 내용이 디스크에 확실히 기록된 상태이다.
+	 */
+	DATA_AND_METADATA
+	
+}
@@ -0,0 +1,48 @@
+package jeca.fileio;
+
+/**
+ * char 배열의 일부 구간을 복사 없이 CharSequence로 보여주는 재사용 가능한 뷰.
+ * 
+ * @author JeroCaller
+ */
+final class LineBuffer implements CharSequence {
+	private char[] chars;
+	private int start;
+	private int length;
+	
+	/**
+	 * 보여줄 구간을 바꾼다.
+	 */
+	void set(char[] chars, int start, int length) {
+		this.chars = chars;
+		this.start = start;
+		this.length = length;
+	}
+	
+	@Override
+	public int length() {
+		return length;
+	}
+	
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + length);
+		}
+		return chars[start + index];
+	}
+	
+	@Override
+	public CharSequence subSequence(int from, int to) {
+		if (from < 0 || to > length || from > to) {
+			throw new IndexOutOfBoundsException("begin " + from + ", end " + to + ", length " + length);
+		}
+		return new String(chars, start + from, to - from);
+	}
+	
+	@Override
+	public String toString() {
+		return new String(chars, start, length);
+	}
+	
+}
@@ -0,0 +1,48 @@
+package jeca.fileio;
+
+/**
+ * 텍스트 파일을 한 줄씩 읽을 때 각 줄마다 호출되는 콜백.
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * TextFileIO io = new TextFileIO();
+ * io.setPathForRead("app.log");
+ * io.readLines((line, lineNumber) -&gt; {
+ *     if (line.length() &gt; 0 &amp;&amp; line.charAt(0) == 'E') {
+ *         System.out.println(lineNumber + ": " + line);
+ *     }
+ *     return true;
+ * });
+ * </code>
+ * </pre>
+ * 
+ * @author JeroCaller
+ * @see TextFileIO#readLines(LineVisitor)
+ */
+@FunctionalInterface
+public interface LineVisitor {
+	
+	/**
+	 * 읽어온 한 줄을 처리한다. 
+	 * 
+	 * line은 내부 버퍼를 재사용하므로 이 메서드가 반환된 뒤에는 내용이 바뀐다. 
+	 * 줄 내용을 보관해야 한다면 line.toString()으로 복사해둘 것.
+	 * 
+	 * @param line - 줄바꿈 문자를 제외한 한 줄의 내용.
+	 * @param lineNumber - 1부터 시작하는 줄 번호.
+	 * @return
+	 * <ul>
+	 * <li>
+	 *     true : 다음 줄을 계속 읽는다.
+	 * </li>
+	 * <li>
+	 *     false : 읽기를 멈춘다.
+	 * </li>
+	 * </ul>
+	 */
+	boolean visit(CharSequence line, long lineNumber);
+	
+}
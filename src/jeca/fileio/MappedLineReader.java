@@ -0,0 +1,261 @@
+package jeca.fileio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 텍스트 파일을 메모리에 매핑(FileChannel.map)하여 복사와 디코딩 없이 
+ * 바이트 단위로 줄을 훑는 클래스. 
+ * 같은 대용량 로그 파일을 반복해서 검색하거나 줄 수를 세는 작업처럼 
+ * 모든 줄을 String으로 만들 필요가 없을 때 사용한다.
+ * 
+ * <p>
+ * 파일은 최대 windowSize 바이트씩 나누어 매핑하므로 2GB보다 큰 파일도 읽을 수 있다. 
+ * 구간 끝에 걸친 줄은 다음 구간의 시작으로 넘겨 온전한 한 줄로 전달한다. 
+ * 줄바꿈 문자 탐색은 8바이트씩 한 번에 비교(SWAR)하여 처리한다. 
+ * 줄 구분자는 "\n"이며, 바로 앞의 "\r"은 줄 내용에서 제외한다.
+ * </p>
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * byte[] needle = "ERROR".getBytes(StandardCharsets.US_ASCII);
+ * try (MappedLineReader reader = new MappedLineReader("app.log")) {
+ *     reader.forEachLineContaining(needle, (buf, start, end, lineNumber) -&gt; {
+ *         System.out.println(lineNumber + ": " 
+ *                 + MappedLineReader.decode(buf, start, end, StandardCharsets.UTF_8));
+ *         return true;
+ *     });
+ * }
+ * </code>
+ * </pre>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public class MappedLineReader implements AutoCloseable {
+	/**
+	 * 한 번에 매핑하는 기본 구간 크기. (1GB)
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+	
+	private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+	private static final long LOW_BITS = 0x0101010101010101L;
+	private static final long HIGH_BITS = 0x8080808080808080L;
+	
+	private final FileChannel channel;
+	private final int windowSize;
+	
+	/**
+	 * 주어진 경로의 파일을 읽기 전용으로 연다.
+	 * @param path - 읽을 파일 경로.
+	 * @throws IOException 파일을 열 수 없는 경우.
+	 */
+	public MappedLineReader(String path) throws IOException {
+		this(path, DEFAULT_WINDOW_SIZE);
+	}
+	
+	/**
+	 * 주어진 경로의 파일을 읽기 전용으로 연다.
+	 * @param path - 읽을 파일 경로.
+	 * @param windowSize - 한 번에 매핑할 최대 바이트 수. 
+	 * 이보다 긴 줄을 만나면 그 줄을 담을 수 있을 때까지 구간을 늘린다.
+	 * @throws IOException 파일을 열 수 없는 경우.
+	 */
+	public MappedLineReader(String path, int windowSize) throws IOException {
+		if (windowSize < Long.BYTES) {
+			throw new IllegalArgumentException("windowSize가 너무 작습니다: " + windowSize);
+		}
+		this.windowSize = windowSize;
+		channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+	}
+	
+	/**
+	 * 파일의 현재 크기(바이트)를 반환.
+	 * @return long
+	 * @throws IOException
+	 */
+	public long size() throws IOException {
+		return channel.size();
+	}
+	
+	/**
+	 * 파일의 모든 줄을 처음부터 차례로 visitor에 전달한다.
+	 * @param visitor - 각 줄마다 호출될 콜백. false를 반환하면 읽기를 멈춘다.
+	 * @return visitor에 전달한 줄의 수.
+	 * @throws IOException 매핑 또는 읽기에 실패했거나, 한 줄이 2GB를 넘는 경우.
+	 */
+	public long forEachLine(ByteLineVisitor visitor) throws IOException {
+		long fileSize = channel.size();
+		long pos = 0;
+		long lineNumber = 0;
+		int window = windowSize;
+		
+		while (pos < fileSize) {
+			int len = (int) Math.min(window, fileSize - pos);
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, pos, len);
+			mapped.order(ByteOrder.LITTLE_ENDIAN);
+			boolean lastWindow = pos + len == fileSize;
+			int lineStart = 0;
+			
+			while (true) {
+				int newline = indexOfNewline(mapped, lineStart, len);
+				if (newline < 0) {
+					break;
+				}
+				if (!visitor.visit(mapped, lineStart, trimCR(mapped, lineStart, newline), ++lineNumber)) {
+					return lineNumber;
+				}
+				lineStart = newline + 1;
+			}
+			
+			if (lastWindow) {
+				if (lineStart < len) {
+					visitor.visit(mapped, lineStart, trimCR(mapped, lineStart, len), ++lineNumber);
+				}
+				break;
+			}
+			
+			if (lineStart == 0) {
+				// 구간 전체가 한 줄의 일부이므로 구간을 늘려 다시 매핑한다.
+				if (window == Integer.MAX_VALUE) {
+					throw new IOException("한 줄의 길이가 너무 깁니다. (위치: " + pos + ")");
+				}
+				window = (int) Math.min(2L * window, Integer.MAX_VALUE);
+				continue;
+			}
+			pos += lineStart;
+			window = windowSize;
+		}
+		return lineNumber;
+	}
+	
+	/**
+	 * needle 바이트열을 포함하는 줄만 visitor에 전달한다. 
+	 * 전달되는 줄 번호는 파일 전체 기준의 줄 번호이다.
+	 * @param needle - 찾을 바이트열. 예) "ERROR".getBytes(StandardCharsets.UTF_8)
+	 * @param visitor - 일치하는 줄마다 호출될 콜백. false를 반환하면 읽기를 멈춘다.
+	 * @return 일치한 줄의 수.
+	 * @throws IOException
+	 */
+	public long forEachLineContaining(byte[] needle, ByteLineVisitor visitor) throws IOException {
+		long[] matches = new long[1];
+		forEachLine((buf, start, end, lineNumber) -> {
+			if (!contains(buf, start, end, needle)) {
+				return true;
+			}
+			matches[0]++;
+			return visitor.visit(buf, start, end, lineNumber);
+		});
+		return matches[0];
+	}
+	
+	/**
+	 * 파일의 줄 수를 센다. 마지막 줄이 줄바꿈 문자로 끝나지 않아도 한 줄로 센다.
+	 * @return long
+	 * @throws IOException
+	 */
+	public long countLines() throws IOException {
+		return forEachLine((buf, start, end, lineNumber) -> true);
+	}
+	
+	/**
+	 * buffer의 [start, end) 구간에 needle 바이트열이 있는지 확인.
+	 * @param buffer - 검색할 버퍼.
+	 * @param start - 검색 시작 위치. 해당 위치도 포함됨.
+	 * @param end - 검색 끝 위치. 해당 위치는 포함되지 않음.
+	 * @param needle - 찾을 바이트열.
+	 * @return boolean
+	 */
+	public static boolean contains(ByteBuffer buffer, int start, int end, byte[] needle) {
+		if (needle.length == 0) {
+			return true;
+		}
+		byte first = needle[0];
+		int last = end - needle.length;
+		
+		outer:
+		for (int i = start; i <= last; i++) {
+			if (buffer.get(i) != first) {
+				continue;
+			}
+			for (int j = 1; j < needle.length; j++) {
+				if (buffer.get(i + j) != needle[j]) {
+					continue outer;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * buffer의 [start, end) 구간을 문자열로 디코딩한다. 
+	 * 실제로 내용이 필요한 줄에만 사용할 것.
+	 * @param buffer - 줄이 담긴 버퍼.
+	 * @param start - 시작 위치. 해당 위치도 포함됨.
+	 * @param end - 끝 위치. 해당 위치는 포함되지 않음.
+	 * @param charset - 파일의 문자 인코딩.
+	 * @return String
+	 */
+	public static String decode(ByteBuffer buffer, int start, int end, Charset charset) {
+		ByteBuffer slice = buffer.duplicate();
+		slice.limit(end).position(start);
+		return charset.decode(slice).toString();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+	
+	/**
+	 * [from, to) 구간에서 첫 "\n"의 위치를 찾는다. 
+	 * 리틀 엔디언으로 8바이트씩 읽어 0x0A인 바이트가 있는지 한 번에 검사한다. 
+	 * (이 검사의 오탐은 실제 일치한 바이트보다 뒤쪽에서만 생기므로 
+	 * 가장 낮은 자리의 일치가 항상 첫 번째 줄바꿈이다.)
+	 * @return 위치. 없으면 -1.
+	 */
+	static int indexOfNewline(ByteBuffer buf, int from, int to) {
+		int i = from;
+		for (; i + Long.BYTES <= to; i += Long.BYTES) {
+			long x = buf.getLong(i) ^ NEWLINES;
+			long found = (x - LOW_BITS) & ~x & HIGH_BITS;
+			if (found != 0) {
+				return i + (Long.numberOfTrailingZeros(found) >>> 3);
+			}
+		}
+		for (; i < to; i++) {
+			if (buf.get(i) == '\n') {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	private static int trimCR(ByteBuffer buf, int start, int end) {
+		if (end > start && buf.get(end - 1) == '\r') {
+			return end - 1;
+		}
+		return end;
+	}
+	
+}
@@ -0,0 +1,301 @@
+package jeca.fileio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 큰 텍스트 파일을 여러 스레드에서 나누어 처리하는 유틸리티 클래스. 
+ * (객체 생성 방지해놓음)
+ * 
+ * <p>
+ * 파일을 줄 경계에 맞춘 바이트 구간(청크)들로 나누고, 
+ * 각 청크를 포크-조인 풀에서 따로 읽어 청크마다 새 누적 객체에 줄을 반영한 뒤, 
+ * 누적 객체들을 파일 순서대로 합친다. (map/reduce) 
+ * 줄 수 세기, 필터링, 그룹별 집계처럼 줄 단위로 독립적인 작업을 
+ * 코어 수에 비례하는 속도로 처리할 수 있다. 
+ * 청크 처리는 입출력 대기보다 디코딩과 줄 처리에 시간을 쓰는 CPU 작업이므로, 
+ * 가상 스레드 대신 코어 수만큼의 작업자가 청크를 나누어 훔쳐 가는 포크-조인 풀을 사용한다.
+ * </p>
+ * 
+ * <p>
+ * 각 청크는 메모리에 매핑하여 읽으며, 줄은 재사용하는 CharBuffer에 디코딩되어 전달된다. 
+ * 따라서 lineHandler에 전달된 줄은 호출이 끝나면 내용이 바뀌므로 
+ * 보관하려면 toString()으로 복사해야 한다. 
+ * 줄 구분자는 "\n"이며 바로 앞의 "\r"은 줄 내용에서 제외한다. 
+ * UTF-8, EUC-KR처럼 "\n"을 한 바이트 0x0A로 나타내는 문자 인코딩만 지원한다.
+ * </p>
+ * 
+ * <br>
+ * 사용 예시) 단어별 등장 횟수 세기
+ * <br>
+ * <pre>
+ * <code>
+ * Map&lt;String, Long&gt; counts = ParallelFileProcessor.process("big.log", StandardCharsets.UTF_8,
+ *         HashMap::new,
+ *         (map, line) -&gt; map.merge(line.toString().split(" ")[0], 1L, Long::sum),
+ *         (a, b) -&gt; { b.forEach((k, v) -&gt; a.merge(k, v, Long::sum)); return a; });
+ * </code>
+ * </pre>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public class ParallelFileProcessor {
+	/**
+	 * 청크 하나의 최대 크기. (바이트)
+	 */
+	public static final long MAX_CHUNK_SIZE = 64L * 1024 * 1024;
+	
+	/**
+	 * 청크 하나의 최소 크기. (바이트)
+	 */
+	public static final long MIN_CHUNK_SIZE = 1024 * 1024;
+	
+	private static final int BOUNDARY_SCAN_SIZE = 8 * 1024;
+	
+	/**
+	 * 유틸리티로 사용할 것이므로 객체 생성 방지.
+	 */
+	private ParallelFileProcessor() {}
+	
+	/**
+	 * 공용 포크-조인 풀에서 파일의 모든 줄을 나누어 처리한다. 
+	 * 청크 크기는 파일 크기와 풀의 병렬성에 맞추어 자동으로 정한다.
+	 * 
+	 * @param <A> 누적 객체의 타입.
+	 * @param path - 처리할 파일 경로.
+	 * @param charset - 파일의 문자 인코딩.
+	 * @param supplier - 청크마다 새 누적 객체를 만드는 함수.
+	 * @param lineHandler - 한 줄을 누적 객체에 반영하는 함수. 여러 스레드에서 동시에 호출되지만 
+	 * 하나의 누적 객체는 한 스레드에서만 사용된다.
+	 * @param combiner - 앞 청크의 누적 객체와 뒤 청크의 누적 객체를 합치는 함수.
+	 * @return 모든 누적 객체를 합친 결과.
+	 * @throws IOException 파일을 읽는 도중 예외가 발생한 경우.
+	 */
+	public static <A> A process(String path, Charset charset, Supplier<A> supplier, 
+			BiConsumer<A, ? super CharSequence> lineHandler, BinaryOperator<A> combiner) throws IOException {
+		return process(path, charset, 0, ForkJoinPool.commonPool(), supplier, lineHandler, combiner);
+	}
+	
+	/**
+	 * 지정한 포크-조인 풀에서 파일의 모든 줄을 나누어 처리한다. 
+	 * 
+	 * @param <A> 누적 객체의 타입.
+	 * @param path - 처리할 파일 경로.
+	 * @param charset - 파일의 문자 인코딩.
+	 * @param chunkSize - 청크 하나의 목표 크기. (바이트) 0 이하이면 자동으로 정한다. 
+	 * 실제 청크는 다음 줄바꿈 문자까지 늘어난다.
+	 * @param pool - 작업을 실행할 포크-조인 풀.
+	 * @param supplier - 청크마다 새 누적 객체를 만드는 함수.
+	 * @param lineHandler - 한 줄을 누적 객체에 반영하는 함수.
+	 * @param combiner - 앞 청크의 누적 객체와 뒤 청크의 누적 객체를 합치는 함수.
+	 * @return 모든 누적 객체를 합친 결과.
+	 * @throws IOException 파일을 읽는 도중 예외가 발생한 경우.
+	 */
+	public static <A> A process(String path, Charset charset, long chunkSize, ForkJoinPool pool, 
+			Supplier<A> supplier, BiConsumer<A, ? super CharSequence> lineHandler, 
+			BinaryOperator<A> combiner) throws IOException {
+		checkCharset(charset);
+		
+		try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (chunkSize <= 0) {
+				long target = size / (pool.getParallelism() * 4L);
+				chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, target));
+			}
+			long[] bounds = splitAtLines(channel, size, chunkSize);
+			if (bounds.length == 1) {
+				return supplier.get();
+			}
+			
+			ChunkTask<A> task = new ChunkTask<>(channel, bounds, 0, bounds.length - 1, 
+					charset, supplier, lineHandler, combiner);
+			try {
+				return pool.invoke(task);
+			} catch (UncheckedIOException exp) {
+				throw exp.getCause();
+			}
+		}
+	}
+	
+	/**
+	 * 파일을 약 chunkSize 크기의 구간들로 나눈 경계 위치들을 반환. 
+	 * 각 경계는 0, 파일 크기, 또는 줄바꿈 문자 바로 다음 위치이다.
+	 */
+	static long[] splitAtLines(FileChannel channel, long size, long chunkSize) throws IOException {
+		long[] bounds = new long[16];
+		int count = 0;
+		bounds[count++] = 0;
+		ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+		long pos = 0;
+		
+		while (pos < size) {
+			long next = pos + chunkSize;
+			if (next >= size) {
+				next = size;
+			} else {
+				next = nextLineStart(channel, size, next, scan);
+			}
+			if (count == bounds.length) {
+				bounds = Arrays.copyOf(bounds, count * 2);
+			}
+			bounds[count++] = next;
+			pos = next;
+		}
+		return Arrays.copyOf(bounds, count);
+	}
+	
+	/**
+	 * from 위치 이후 첫 줄바꿈 문자의 다음 위치. 없으면 파일 크기.
+	 */
+	private static long nextLineStart(FileChannel channel, long size, long from, ByteBuffer scan) 
+			throws IOException {
+		long pos = from;
+		while (pos < size) {
+			scan.clear();
+			int read = channel.read(scan, pos);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (scan.get(i) == '\n') {
+					return pos + i + 1;
+				}
+			}
+			pos += read;
+		}
+		return size;
+	}
+	
+	private static void checkCharset(Charset charset) {
+		try {
+			ByteBuffer newline = charset.newEncoder().encode(CharBuffer.wrap("\n"));
+			if (newline.remaining() == 1 && newline.get(0) == '\n') {
+				return;
+			}
+		} catch (CharacterCodingException | UnsupportedOperationException exp) {
+			// 아래에서 예외를 던진다.
+		}
+		throw new IllegalArgumentException("지원하지 않는 문자 인코딩: " + charset);
+	}
+	
+	/**
+	 * 청크 번호 [lo, hi) 구간을 처리하는 작업. 청크가 하나 남을 때까지 절반씩 나눈다.
+	 */
+	private static final class ChunkTask<A> extends RecursiveTask<A> {
+		private static final long serialVersionUID = 1L;
+		
+		private final transient FileChannel channel;
+		private final long[] bounds;
+		private final int lo;
+		private final int hi;
+		private final transient Charset charset;
+		private final transient Supplier<A> supplier;
+		private final transient BiConsumer<A, ? super CharSequence> lineHandler;
+		private final transient BinaryOperator<A> combiner;
+		
+		ChunkTask(FileChannel channel, long[] bounds, int lo, int hi, Charset charset, 
+				Supplier<A> supplier, BiConsumer<A, ? super CharSequence> lineHandler, 
+				BinaryOperator<A> combiner) {
+			this.channel = channel;
+			this.bounds = bounds;
+			this.lo = lo;
+			this.hi = hi;
+			this.charset = charset;
+			this.supplier = supplier;
+			this.lineHandler = lineHandler;
+			this.combiner = combiner;
+		}
+		
+		@Override
+		protected A compute() {
+			if (hi - lo == 1) {
+				try {
+					return processChunk(bounds[lo], bounds[hi]);
+				} catch (IOException exp) {
+					throw new UncheckedIOException(exp);
+				}
+			}
+			int mid = (lo + hi) >>> 1;
+			ChunkTask<A> left = new ChunkTask<>(channel, bounds, lo, mid, 
+					charset, supplier, lineHandler, combiner);
+			ChunkTask<A> right = new ChunkTask<>(channel, bounds, mid, hi, 
+					charset, supplier, lineHandler, combiner);
+			right.fork();
+			A leftResult = left.compute();
+			return combiner.apply(leftResult, right.join());
+		}
+		
+		private A processChunk(long start, long end) throws IOException {
+			A acc = supplier.get();
+			long length = end - start;
+			if (length == 0) {
+				return acc;
+			}
+			if (length > Integer.MAX_VALUE) {
+				throw new IOException("한 줄의 길이가 너무 깁니다. (위치: " + start + ")");
+			}
+			
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+			mapped.order(ByteOrder.LITTLE_ENDIAN);
+			ByteBuffer view = mapped.duplicate();
+			CharsetDecoder decoder = charset.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			CharBuffer line = CharBuffer.allocate(256);
+			int len = (int) length;
+			int lineStart = 0;
+			
+			while (lineStart < len) {
+				int newline = MappedLineReader.indexOfNewline(mapped, lineStart, len);
+				int next = newline < 0 ? len : newline + 1;
+				int lineEnd = newline < 0 ? len : newline;
+				if (lineEnd > lineStart && mapped.get(lineEnd - 1) == '\r') {
+					lineEnd--;
+				}
+				
+				int needed = (int) Math.ceil((lineEnd - lineStart) * (double) decoder.maxCharsPerByte());
+				if (needed > line.capacity()) {
+					line = CharBuffer.allocate(Math.max(needed, line.capacity() * 2));
+				}
+				view.limit(lineEnd).position(lineStart);
+				line.clear();
+				decoder.reset();
+				decoder.decode(view, line, true);
+				decoder.flush(line);
+				line.flip();
+				lineHandler.accept(acc, line);
+				lineStart = next;
+			}
+			return acc;
+		}
+	}
+	
+}
@@ -0,0 +1,205 @@
+package jeca.fileio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+
+/**
+ * 텍스트를 일정 크기의 덩어리로 나누어 여러 스레드에서 동시에 gzip으로 압축하여 쓰는 클래스. 
+ * 
+ * <p>
+ * 각 덩어리는 독립적인 gzip 멤버로 압축되고, 쓴 순서대로 파일에 이어 붙는다. 
+ * gzip 형식은 여러 멤버를 이어 붙인 파일을 하나의 스트림으로 읽으므로 
+ * 결과 파일은 gzip, zcat, {@link Compression#GZIP} 설정의 {@link TextFileIO} 등으로 그대로 읽을 수 있다. 
+ * 덩어리마다 압축 사전이 초기화되므로 한 스레드로 압축할 때보다 압축률은 약간 낮다. 
+ * 동시에 압축 중인 덩어리 수를 제한하므로 메모리 사용량은 (덩어리 크기 × 병렬성)에 비례한다. 
+ * 이 클래스는 스레드 안전하지 않다.
+ * </p>
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * try (ParallelGzipWriter writer = new ParallelGzipWriter("archive.log.gz", false, StandardCharsets.UTF_8)) {
+ *     for (String line : lines) {
+ *         writer.writeLine(line);
+ *     }
+ * }
+ * </code>
+ * </pre>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public class ParallelGzipWriter implements AutoCloseable {
+	/**
+	 * 기본 덩어리 크기. (문자 수)
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+	
+	private final OutputStream out;
+	private final Charset charset;
+	private final int level;
+	private final int chunkSize;
+	private final ExecutorService executor;
+	private final int maxInFlight;
+	
+	private final ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+	private StringBuilder chunk;
+	private boolean closed = false;
+	
+	/**
+	 * 기본 압축 수준, 기본 덩어리 크기, 공용 포크-조인 풀을 사용한다.
+	 * @param path - 데이터를 쓸 파일 경로.
+	 * @param append - 기존 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @param charset - 문자 인코딩.
+	 * @throws IOException 파일을 열 수 없는 경우.
+	 */
+	public ParallelGzipWriter(String path, boolean append, Charset charset) throws IOException {
+		this(path, append, charset, Deflater.DEFAULT_COMPRESSION, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * @param path - 데이터를 쓸 파일 경로.
+	 * @param append - 기존 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @param charset - 문자 인코딩.
+	 * @param level - 압축 수준. 0 ~ 9 또는 Deflater.DEFAULT_COMPRESSION(-1)
+	 * @param chunkSize - 한 번에 압축할 덩어리의 크기. (문자 수)
+	 * @param executor - 압축 작업을 실행할 스레드 풀.
+	 * @throws IOException 파일을 열 수 없는 경우.
+	 */
+	public ParallelGzipWriter(String path, boolean append, Charset charset, int level, 
+			int chunkSize, ExecutorService executor) throws IOException {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("chunkSize <= 0: " + chunkSize);
+		}
+		if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+			throw new IllegalArgumentException("잘못된 압축 수준: " + level);
+		}
+		this.charset = charset;
+		this.level = level;
+		this.chunkSize = chunkSize;
+		this.executor = executor;
+		int parallelism = executor instanceof ForkJoinPool 
+				? ((ForkJoinPool) executor).getParallelism() 
+				: Runtime.getRuntime().availableProcessors();
+		maxInFlight = Math.max(2, parallelism * 2);
+		chunk = new StringBuilder(chunkSize + 256);
+		out = new FileOutputStream(path, append);
+	}
+	
+	/**
+	 * 한 줄을 쓴다. 끝에 줄바꿈 문자("\n")를 붙인다.
+	 * @param line - 쓸 줄.
+	 * @throws IOException
+	 */
+	public void writeLine(CharSequence line) throws IOException {
+		ensureOpen();
+		chunk.append(line).append('\n');
+		submitIfFull();
+	}
+	
+	/**
+	 * 줄바꿈 문자를 붙이지 않고 텍스트를 그대로 쓴다.
+	 * @param text - 쓸 텍스트.
+	 * @throws IOException
+	 */
+	public void write(CharSequence text) throws IOException {
+		ensureOpen();
+		chunk.append(text);
+		submitIfFull();
+	}
+	
+	/**
+	 * 남은 덩어리를 압축하여 모두 쓰고 파일을 닫는다. 이미 닫혀 있으면 아무 일도 하지 않는다.
+	 * @throws IOException
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			if (chunk.length() > 0) {
+				submit();
+			}
+			while (!pending.isEmpty()) {
+				writeOldest();
+			}
+		} finally {
+			chunk = null;
+			out.close();
+		}
+	}
+	
+	private void submitIfFull() throws IOException {
+		if (chunk.length() >= chunkSize) {
+			submit();
+		}
+	}
+	
+	/**
+	 * 현재 덩어리를 압축 작업으로 넘긴다. 진행 중인 작업이 많으면 가장 오래된 결과부터 쓴다.
+	 */
+	private void submit() throws IOException {
+		String text = chunk.toString();
+		chunk.setLength(0);
+		while (pending.size() >= maxInFlight) {
+			writeOldest();
+		}
+		pending.add(CompletableFuture.supplyAsync(() -> compress(text), executor));
+	}
+	
+	private void writeOldest() throws IOException {
+		byte[] member;
+		try {
+			member = pending.poll().join();
+		} catch (CompletionException exp) {
+			if (exp.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) exp.getCause()).getCause();
+			}
+			throw exp;
+		}
+		out.write(member);
+	}
+	
+	private byte[] compress(String text) {
+		byte[] raw = text.getBytes(charset);
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(raw.length / 3 + 64);
+		try (OutputStream gzip = new Compression.LeveledGZIPOutputStream(buffer, level, 
+				Compression.DEFAULT_BUFFER_SIZE)) {
+			gzip.write(raw);
+		} catch (IOException exp) {
+			throw new UncheckedIOException(exp);
+		}
+		return buffer.toByteArray();
+	}
+	
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("이미 닫힌 파일입니다.");
+		}
+	}
+	
+}
@@ -0,0 +1,247 @@
+package jeca.fileio;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 하나의 텍스트 파일을 열어둔 채로 여러 줄을 이어서 쓰기 위한 클래스. 
+ * {@link TextFileIO#writeText(String, boolean)}는 호출할 때마다 파일을 열고 닫으므로 
+ * 많은 줄을 쓸 때는 이 클래스를 사용한다. 
+ * 
+ * <p>
+ * 쓴 내용은 버퍼에 모았다가 다음 중 하나에 해당할 때 파일로 내보낸다. 
+ * <ul>
+ * <li>버퍼가 가득 찬 경우</li>
+ * <li>{@link #setFlushEveryLines(int)}로 지정한 줄 수만큼 쓴 경우</li>
+ * <li>{@link #setFlushIntervalMillis(long)}로 지정한 시간이 버퍼에 처음 쓴 뒤로 지난 경우</li>
+ * <li>{@link #flush()} 또는 {@link #close()}를 호출한 경우</li>
+ * </ul>
+ * 별도로 지정하지 않으면 버퍼가 가득 찼을 때와 닫을 때만 내보낸다. 
+ * 시간으로 내보내는 작업은 모든 TextFileAppender가 함께 쓰는 데몬 스레드 하나에서 실행되며, 
+ * 이 작업과 겹치지 않도록 각 메서드는 객체 단위로 동기화된다. 
+ * 여러 스레드가 함께 많은 줄을 쓸 때는 {@link AsyncTextFileAppender}를 사용한다.
+ * </p>
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * try (TextFileAppender appender = new TextFileAppender("app.log", true)) {
+ *     appender.setFlushEveryLines(1000);
+ *     for (String line : lines) {
+ *         appender.writeLine(line);
+ *     }
+ * }
+ * </code>
+ * </pre>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public class TextFileAppender implements AutoCloseable, Flushable {
+	/**
+	 * 기본 버퍼 크기. (문자 수)
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	
+	private final Writer writer;
+	private int flushEveryLines = 0;
+	private long flushIntervalMillis = 0;
+	private int unflushedLines = 0;
+	private boolean dirty = false;
+	private boolean flushScheduled = false;
+	private boolean closed = false;
+	private IOException failure = null;
+	
+	/**
+	 * 기본 버퍼 크기와 플랫폼 기본 문자 인코딩으로 파일을 연다.
+	 * @param path - 데이터를 쓸 텍스트 파일 경로.
+	 * @param append - 기존 텍스트 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @throws IOException 파일을 열 수 없는 경우.
+	 */
+	public TextFileAppender(String path, boolean append) throws IOException {
+		this(path, append, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * @param path - 데이터를 쓸 텍스트 파일 경로.
+	 * @param append - 기존 텍스트 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @param bufferSize - 버퍼 크기. (문자 수)
+	 * @throws IOException 파일을 열 수 없는 경우.
+	 */
+	public TextFileAppender(String path, boolean append, int bufferSize) throws IOException {
+		this(path, append, bufferSize, Charset.defaultCharset());
+	}
+	
+	/**
+	 * @param path - 데이터를 쓸 텍스트 파일 경로.
+	 * @param append - 기존 텍스트 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @param bufferSize - 버퍼 크기. (문자 수)
+	 * @param charset - 파일에 쓸 문자 인코딩.
+	 * @throws IOException 파일을 열 수 없는 경우.
+	 */
+	public TextFileAppender(String path, boolean append, int bufferSize, Charset charset) throws IOException {
+		this(new FileWriter(path, charset, append), bufferSize);
+	}
+	
+	TextFileAppender(Writer out, int bufferSize) {
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("bufferSize <= 0: " + bufferSize);
+		}
+		writer = new BufferedWriter(out, bufferSize);
+	}
+	
+	/**
+	 * 지정한 줄 수를 쓸 때마다 파일로 내보내도록 설정. 
+	 * @param lines - 줄 수. 0 이하이면 줄 수로는 내보내지 않는다.
+	 */
+	public synchronized void setFlushEveryLines(int lines) {
+		flushEveryLines = Math.max(0, lines);
+	}
+	
+	/**
+	 * 버퍼에 쓴 내용이 지정한 시간 안에 파일로 내보내지도록 설정. 
+	 * 내보낸 뒤 처음 쓸 때 예약하므로, 이후 쓰기가 없어도 지정한 시간이 지나면 내보낸다. 
+	 * 예약된 내보내기에서 발생한 입출력 예외는 다음 메서드 호출 때 던진다.
+	 * @param millis - 밀리초 단위의 시간. 0 이하이면 시간으로는 내보내지 않는다.
+	 */
+	public synchronized void setFlushIntervalMillis(long millis) {
+		flushIntervalMillis = Math.max(0, millis);
+	}
+	
+	/**
+	 * 한 줄을 쓴다. 끝에 줄바꿈 문자("\n")를 붙인다.
+	 * @param line - 쓸 줄.
+	 * @throws IOException
+	 */
+	public synchronized void writeLine(CharSequence line) throws IOException {
+		ensureOpen();
+		writer.append(line).write('\n');
+		unflushedLines++;
+		flushIfDue();
+	}
+	
+	/**
+	 * 줄바꿈 문자를 붙이지 않고 텍스트를 그대로 쓴다. 
+	 * 텍스트 안의 줄 수는 {@link #setFlushEveryLines(int)}의 줄 수에 포함되지 않는다.
+	 * @param text - 쓸 텍스트.
+	 * @throws IOException
+	 */
+	public synchronized void write(CharSequence text) throws IOException {
+		ensureOpen();
+		writer.append(text);
+		flushIfDue();
+	}
+	
+	/**
+	 * 여러 줄을 차례로 쓴다. 각 줄 끝에 줄바꿈 문자("\n")를 붙인다.
+	 * @param lines - 쓸 줄들.
+	 * @throws IOException
+	 */
+	public synchronized void writeLines(Iterable<? extends CharSequence> lines) throws IOException {
+		for (CharSequence line : lines) {
+			writeLine(line);
+		}
+	}
+	
+	/**
+	 * 버퍼에 모인 내용을 파일로 내보낸다.
+	 * @throws IOException
+	 */
+	@Override
+	public synchronized void flush() throws IOException {
+		ensureOpen();
+		writer.flush();
+		unflushedLines = 0;
+		dirty = false;
+	}
+	
+	/**
+	 * 남은 내용을 내보내고 파일을 닫는다. 이미 닫혀 있으면 아무 일도 하지 않는다.
+	 * @throws IOException
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		writer.close();
+	}
+	
+	/**
+	 * 닫혔는지 확인.
+	 * @return boolean
+	 */
+	public synchronized boolean isClosed() {
+		return closed;
+	}
+	
+	private void flushIfDue() throws IOException {
+		if (flushEveryLines > 0 && unflushedLines >= flushEveryLines) {
+			flush();
+			return;
+		}
+		dirty = true;
+		if (flushIntervalMillis > 0 && !flushScheduled) {
+			flushScheduled = true;
+			FlushScheduler.INSTANCE.schedule(this::scheduledFlush, flushIntervalMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+	
+	/**
+	 * 예약된 시간이 되면 공용 스레드에서 호출된다.
+	 */
+	private synchronized void scheduledFlush() {
+		flushScheduled = false;
+		if (closed || !dirty) {
+			return;
+		}
+		try {
+			flush();
+		} catch (IOException exp) {
+			failure = exp;
+		}
+	}
+	
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("이미 닫힌 파일입니다.");
+		}
+		IOException exp = failure;
+		if (exp != null) {
+			failure = null;
+			throw exp;
+		}
+	}
+	
+	/**
+	 * 시간으로 내보내는 작업을 실행하는 공용 데몬 스레드. 처음 사용할 때 만든다.
+	 */
+	private static final class FlushScheduler {
+		static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "TextFileAppender-flush");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+}
@@ -2,11 +2,39 @@ package jeca.fileio;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import jeca.console.ConsoleSink;
 
 
 /**
@@ -14,6 +42,18 @@ import java.io.IOException;
  * 기존의 파일 입출력 스트림 객체 코드를 모듈화하여 
  * 코드를 간결하게 하고 재사용성을 높이고자 만듦. 
  * 
+ * <p>
+ * 읽고 쓸 때의 문자 인코딩은 {@link #setCharset(Charset)}로 지정하며, 
+ * 지정하지 않으면 플랫폼 기본 인코딩을 사용한다. 
+ * 운영체제마다 기본 인코딩이 다르므로(예: Windows의 MS949, Linux의 UTF-8) 
+ * 여러 환경에서 같은 파일을 다룰 때는 인코딩을 명시하는 것이 좋다.
+ * </p>
+ * 
+ * <p>
+ * {@link #setCompression(Compression)}로 압축 형식을 지정하면 
+ * 압축을 따로 풀거나 임시 파일을 만들지 않고 gzip, deflate 파일을 바로 읽고 쓸 수 있다.
+ * </p>
+ * 
  * <div>
  * 제작자 정보
  * <ul>
@@ -28,8 +68,18 @@ import java.io.IOException;
  * @author JeroCaller
  */
 public class TextFileIO {
+	static final int LINE_BUFFER_SIZE = 64 * 1024;
+	
 	private String pathForWrite = null;
 	private String pathForRead = null;
+	private Charset charset = Charset.defaultCharset();
+	private Compression compression = Compression.NONE;
+	private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+	private int compressionBufferSize = Compression.DEFAULT_BUFFER_SIZE;
+	
+	// readText()에서 재사용하는 버퍼와 디코더. 
+	// 스레드마다 따로 두므로 여러 스레드가 같은 객체로 동시에 읽어도 서로의 결과를 덮어쓰지 않는다.
+	private static final ThreadLocal<DecodeState> DECODE_STATE = ThreadLocal.withInitial(DecodeState::new);
 	
 	/**
 	 * 데이터를 쓸 텍스트 파일 경로 지정.
@@ -47,6 +97,70 @@ public class TextFileIO {
 		this.pathForRead = pathForRead;
 	}
 	
+	/**
+	 * 텍스트 파일을 읽고 쓸 때 사용할 문자 인코딩 지정. 
+	 * @param charset - 문자 인코딩. 예) StandardCharsets.UTF_8
+	 */
+	public void setCharset(Charset charset) {
+		if (charset == null) {
+			throw new NullPointerException("charset");
+		}
+		this.charset = charset;
+	}
+	
+	/**
+	 * 현재 지정된 문자 인코딩을 반환.
+	 * @return Charset
+	 */
+	public Charset getCharset() {
+		return charset;
+	}
+	
+	/**
+	 * 텍스트 파일을 읽고 쓸 때 적용할 압축 형식 지정. 기본값은 {@link Compression#NONE}. 
+	 * writeText, writeLines, openAppender, readText, lines, readLines 메서드에 적용된다. 
+	 * 파일을 직접 매핑하거나 위치를 옮겨가며 읽는 scanLines, processLinesParallel, 
+	 * openTailer, openAsyncAppender 메서드는 압축하지 않은 파일에만 사용할 수 있다.
+	 * @param compression - 압축 형식. 파일 이름으로 정하려면 {@link Compression#fromFileName(String)}을 사용.
+	 */
+	public void setCompression(Compression compression) {
+		if (compression == null) {
+			throw new NullPointerException("compression");
+		}
+		this.compression = compression;
+	}
+	
+	/**
+	 * 현재 지정된 압축 형식을 반환.
+	 * @return Compression
+	 */
+	public Compression getCompression() {
+		return compression;
+	}
+	
+	/**
+	 * 압축하여 쓸 때의 압축 수준 지정. 
+	 * @param level - 0(압축 안 함, 가장 빠름) ~ 9(가장 작게 압축) 또는 
+	 * Deflater.DEFAULT_COMPRESSION(-1, 기본값)
+	 */
+	public void setCompressionLevel(int level) {
+		if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+			throw new IllegalArgumentException("잘못된 압축 수준: " + level);
+		}
+		compressionLevel = level;
+	}
+	
+	/**
+	 * 압축하거나 압축을 풀 때 사용할 버퍼의 크기 지정. 
+	 * @param bufferSize - 바이트 단위의 크기. 기본값은 {@link Compression#DEFAULT_BUFFER_SIZE}.
+	 */
+	public void setCompressionBufferSize(int bufferSize) {
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("bufferSize <= 0: " + bufferSize);
+		}
+		compressionBufferSize = bufferSize;
+	}
+	
 	/**
 	 * 지정된 경로의 텍스트 파일에 텍스트 데이터를 쓴다. 
 	 * 이 메서드를 사용하기 전 반드시 {@link #setPathForWrite(String)} 
@@ -78,7 +192,7 @@ public class TextFileIO {
 		 * try ~ catch 문을 벗어나면 자동으로 close() 메서드를 호출해주므로
 		 * 개발자가 따로 close() 메서드를 호출하는 번거로움을 없애줌.
 		 */
-		try (BufferedWriter bufWriter = new BufferedWriter(new FileWriter(pathForWrite, append))) {
+		try (BufferedWriter bufWriter = new BufferedWriter(openWriter(append))) {
 			bufWriter.write(text + "\n");
 		} catch (IOException exp) {
 			handleIOException(exp);
@@ -87,6 +201,131 @@ public class TextFileIO {
 		return true;
 	}
 	
+	/**
+	 * 지정된 경로의 텍스트 파일 내용을 텍스트 데이터로 통째로 교체한다. 
+	 * {@link #writeText(String, boolean)}로 덮어쓰면 쓰는 도중 프로세스가 죽었을 때 
+	 * 파일이 반쯤 쓰인 채로 남지만, 이 메서드는 같은 디렉터리의 임시 파일에 먼저 쓴 뒤 
+	 * 원자적 이동(ATOMIC_MOVE)으로 교체하므로 파일은 항상 이전 내용 또는 새 내용 중 하나이다. 
+	 * 문자 인코딩과 압축 설정은 writeText와 같이 적용되며, 텍스트 끝에 줄바꿈 문자("\n")를 붙인다. 
+	 * 이 메서드를 사용하기 전 반드시 {@link #setPathForWrite(String)} 
+	 * 메서드를 이용하여 해당 텍스트 파일 경로를 지정해둬야 한다. 
+	 * 
+	 * @param text - 텍스트 파일에 쓸 문자열 형태의 텍스트.
+	 * @param durability - 교체 전후에 디스크 동기화를 어디까지 할지 결정.
+	 * @return
+	 * <ul>
+	 * <li> 
+	 *     true : 파일 교체에 성공한 경우. 
+	 * </li>
+	 * <li>
+	 * 	   false : 쓰기 또는 교체가 실패한 경우. 이 때 기존 파일은 바뀌지 않는다.
+	 * </li>
+	 * </ul>
+	 */
+	public boolean writeTextAtomic(String text, Durability durability) {
+		Path target = Paths.get(pathForWrite).toAbsolutePath();
+		Path dir = target.getParent();
+		Path temp = null;
+		
+		try {
+			byte[] bytes = encodeForWrite(text + "\n");
+			temp = Files.createTempFile(dir, "." + target.getFileName(), ".tmp");
+			copyPermissions(target, temp);
+			
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				ByteBuffer buffer = ByteBuffer.wrap(bytes);
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				if (durability != Durability.NONE) {
+					channel.force(durability == Durability.DATA_AND_METADATA);
+				}
+			}
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			temp = null;
+			
+			if (durability == Durability.DATA_AND_METADATA) {
+				forceDirectory(dir);
+			}
+		} catch (IOException exp) {
+			handleIOException(exp);
+			return false;
+		} finally {
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException exp) {
+					// 임시 파일 삭제 실패는 결과에 영향을 주지 않는다.
+				}
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * 여러 줄을 한 번 연 파일에 차례로 쓴다. 각 줄 끝에 줄바꿈 문자("\n")를 붙인다. 
+	 * 줄마다 {@link #writeText(String, boolean)}를 호출하는 것과 결과는 같지만 
+	 * 파일을 한 번만 열고 닫는다. 
+	 * 이 메서드를 사용하기 전 반드시 {@link #setPathForWrite(String)} 
+	 * 메서드를 이용하여 해당 텍스트 파일 경로를 지정해둬야 한다. 
+	 * 
+	 * @param lines - 텍스트 파일에 쓸 줄들.
+	 * @param append - 기존 텍스트 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @return
+	 * <ul>
+	 * <li> 
+	 *     true : 텍스트 파일에 쓰기 작업이 성공한 경우. 
+	 * </li>
+	 * <li>
+	 * 	   false : 텍스트 파일에 쓰기 작업이 모종의 이유로 실패한 경우.
+	 * </li>
+	 * </ul>
+	 */
+	public boolean writeLines(Iterable<? extends CharSequence> lines, boolean append) {
+		try (TextFileAppender appender = new TextFileAppender(openWriter(append), TextFileAppender.DEFAULT_BUFFER_SIZE)) {
+			appender.writeLines(lines);
+		} catch (IOException exp) {
+			handleIOException(exp);
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * {@link #setPathForWrite(String)}로 지정한 파일을 열어둔 채로 
+	 * 여러 번 이어 쓸 수 있는 {@link TextFileAppender}를 반환한다. 
+	 * 다 쓴 후 반드시 닫아야 한다.
+	 * 
+	 * @param append - 기존 텍스트 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @return TextFileAppender. 파일을 열지 못한 경우 null을 반환.
+	 */
+	public TextFileAppender openAppender(boolean append) {
+		try {
+			return new TextFileAppender(openWriter(append), TextFileAppender.DEFAULT_BUFFER_SIZE);
+		} catch (IOException exp) {
+			handleIOException(exp);
+			return null;
+		}
+	}
+	
+	/**
+	 * {@link #setPathForWrite(String)}로 지정한 파일에 여러 스레드가 
+	 * 입출력을 기다리지 않고 줄을 기록할 수 있는 {@link AsyncTextFileAppender}를 반환한다. 
+	 * 다 쓴 후 반드시 닫아야 한다.
+	 * 
+	 * @param append - 기존 텍스트 파일 내용 뒤에 이어쓸지 아니면 새로 덮어쓸지 결정.
+	 * @return AsyncTextFileAppender. 파일을 열지 못한 경우 null을 반환.
+	 */
+	public AsyncTextFileAppender openAsyncAppender(boolean append) {
+		try {
+			return new AsyncTextFileAppender(pathForWrite, append, AsyncTextFileAppender.DEFAULT_CAPACITY, 
+					AsyncTextFileAppender.OverflowPolicy.BLOCK, false, charset);
+		} catch (IOException exp) {
+			handleIOException(exp);
+			return null;
+		}
+	}
+	
 	/**
 	 * 특정 텍스트 파일 내 데이터를 읽어와 반환한다. 
 	 * 이 메서드를 사용하기 전 반드시 {@link #setPathForRead(String)} 
@@ -105,39 +344,409 @@ public class TextFileIO {
 	 * @return - 읽어온 텍스트를 문자열로 반환. 만약 읽어온 데이터가 없으면 null을 반환. 
 	 */
 	public String readText(boolean createFileIfNotExists) {
+		try {
+			return readTextOrThrow(Paths.get(pathForRead));
+		} catch (IOException exp) {
+			if (exp instanceof NoSuchFileException || exp instanceof FileNotFoundException) {
+				handleFileNotFound(createFileIfNotExists);
+			} else {
+				handleIOException(exp);
+			}
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * path의 내용을 {@link #readText(boolean)}와 같은 형식으로 읽어 반환한다. 
+	 * 예외를 처리하지 않고 그대로 던진다.
+	 */
+	String readTextOrThrow(Path path) throws IOException {
 		StringBuilder strBuilder = new StringBuilder();
+		if (compression != Compression.NONE) {
+			try (Reader reader = openReader(path.toString())) {
+				readLines(reader, (line, lineNumber) -> {
+					strBuilder.append(line).append('\n');
+					return true;
+				});
+			}
+			return strBuilder.toString();
+		}
 		
-		try (BufferedReader bufReader = new BufferedReader(new FileReader(pathForRead))) {
-			String oneLine = null;
-			while(true) {
-				oneLine = bufReader.readLine();
-				
-				if (oneLine == null) {
-					break;
-				}
-				
-				strBuilder.append(oneLine + "\n");
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			decodeText(channel, strBuilder);
+		}
+		return strBuilder.toString();
+	}
+	
+	/**
+	 * channel의 내용을 디코딩하여 strBuilder에 이어 붙인다. 
+	 * 현재 스레드의 바이트 버퍼, 문자 버퍼, 디코더를 재사용하므로 호출마다 버퍼를 새로 만들지 않는다. 
+	 * 결과는 BufferedReader.readLine()으로 읽은 각 줄 뒤에 "\n"을 붙인 것과 같다. 
+	 * 즉 "\r\n"과 "\r"은 "\n"으로 바뀌고, 마지막 줄에 줄바꿈 문자가 없으면 "\n"을 붙인다.
+	 */
+	private void decodeText(FileChannel channel, StringBuilder strBuilder) throws IOException {
+		DecodeState state = DECODE_STATE.get();
+		ByteBuffer in = state.bytes;
+		CharBuffer out = state.chars;
+		CharsetDecoder decoder = state.decoder(charset);
+		in.clear();
+		out.clear();
+		decoder.reset();
+		boolean[] afterCR = new boolean[1];
+		
+		while (true) {
+			boolean endOfInput = channel.read(in) < 0;
+			in.flip();
+			CoderResult result;
+			do {
+				result = decoder.decode(in, out, endOfInput);
+				drainNormalized(out, strBuilder, afterCR);
+			} while (result.isOverflow());
+			in.compact();
+			if (endOfInput) {
+				break;
 			}
-			
+		}
+		while (decoder.flush(out).isOverflow()) {
+			drainNormalized(out, strBuilder, afterCR);
+		}
+		drainNormalized(out, strBuilder, afterCR);
+		
+		int length = strBuilder.length();
+		if (length > 0 && strBuilder.charAt(length - 1) != '\n') {
+			strBuilder.append('\n');
+		}
+	}
+	
+	/**
+	 * out에 디코딩된 문자를 줄바꿈 문자를 "\n"으로 통일하며 strBuilder로 옮기고 out을 비운다. 
+	 * afterCR[0]은 직전 문자가 "\r"이었는지를 버퍼 경계를 넘어 기억한다.
+	 */
+	private static void drainNormalized(CharBuffer out, StringBuilder strBuilder, boolean[] afterCR) {
+		char[] chars = out.array();
+		int end = out.position();
+		int runStart = 0;
+		
+		for (int i = 0; i < end; i++) {
+			char c = chars[i];
+			if (c == '\r') {
+				strBuilder.append(chars, runStart, i - runStart).append('\n');
+				runStart = i + 1;
+				afterCR[0] = true;
+				continue;
+			}
+			if (c == '\n' && afterCR[0]) {
+				strBuilder.append(chars, runStart, i - runStart);
+				runStart = i + 1;
+			}
+			afterCR[0] = false;
+		}
+		strBuilder.append(chars, runStart, end - runStart);
+		out.clear();
+	}
+	
+	/**
+	 * 특정 텍스트 파일의 내용을 한 줄씩 지연하여 읽어오는 스트림을 반환한다. 
+	 * 파일 전체를 메모리에 올리지 않으므로 파일 크기와 무관하게 메모리 사용량이 일정하다. 
+	 * 이 메서드를 사용하기 전 반드시 {@link #setPathForRead(String)} 
+	 * 메서드를 이용하여 해당 텍스트 파일 경로를 지정해둬야 한다.
+	 * 
+	 * <p>
+	 * 반환된 스트림은 파일을 열어둔 상태이므로 다 쓴 후 반드시 닫아야 한다. 
+	 * 반복자가 필요하면 lines().iterator()를 사용한다.
+	 * </p>
+	 * 
+	 * <br>
+	 * 사용 예시)
+	 * <br>
+	 * <pre>
+	 * <code>
+	 * try (Stream&lt;String&gt; lines = io.lines()) {
+	 *     long errors = lines.filter(line -&gt; line.contains("ERROR")).count();
+	 * }
+	 * </code>
+	 * </pre>
+	 * 
+	 * @return 각 줄을 원소로 하는 스트림. 파일을 열지 못한 경우 null을 반환. 
+	 * 읽는 도중 발생한 입출력 예외는 {@link UncheckedIOException}으로 전달된다.
+	 */
+	public Stream<String> lines() {
+		BufferedReader bufReader;
+		try {
+			bufReader = new BufferedReader(openReader(pathForRead));
+		} catch (FileNotFoundException exp) {
+			handleFileNotFound(false);
+			return null;
+		} catch (IOException exp) {
+			handleIOException(exp);
+			return null;
+		}
+		
+		return bufReader.lines().onClose(() -> {
+			try {
+				bufReader.close();
+			} catch (IOException exp) {
+				throw new UncheckedIOException(exp);
+			}
+		});
+	}
+	
+	/**
+	 * 특정 텍스트 파일을 한 줄씩 읽어 visitor에 전달한다. 
+	 * 각 줄을 String으로 만들지 않고 재사용하는 버퍼를 그대로 넘겨주므로 
+	 * 줄마다 객체가 생성되지 않으며, 메모리 사용량은 가장 긴 줄의 길이에만 비례한다. 
+	 * 이 메서드를 사용하기 전 반드시 {@link #setPathForRead(String)} 
+	 * 메서드를 이용하여 해당 텍스트 파일 경로를 지정해둬야 한다.
+	 * 
+	 * <p>
+	 * 줄바꿈 문자는 "\n", "\r\n", "\r"을 모두 인식한다. (BufferedReader.readLine()과 같음)
+	 * </p>
+	 * 
+	 * @param visitor - 각 줄마다 호출될 콜백. false를 반환하면 읽기를 멈춘다.
+	 * @return
+	 * <ul>
+	 * <li> 
+	 *     true : 읽기 작업이 성공한 경우. (visitor가 도중에 멈춘 경우도 포함)
+	 * </li>
+	 * <li>
+	 * 	   false : 파일을 찾지 못했거나 읽는 도중 예외가 발생한 경우.
+	 * </li>
+	 * </ul>
+	 */
+	public boolean readLines(LineVisitor visitor) {
+		try (Reader reader = openReader(pathForRead)) {
+			readLines(reader, visitor);
 		} catch (IOException exp) {
 			if (exp instanceof FileNotFoundException) {
-				System.out.println("해당 경로에서 파일을 읽어올 수 없었습니다.");
-				System.out.println("설정 경로: " + pathForRead);
-				if (createFileIfNotExists) {
-					System.out.println("해당 경로에 새 파일을 생성하였습니다.");
-					createEmptyFile(pathForRead);
-				}
+				handleFileNotFound(false);
+			} else {
+				handleIOException(exp);
+			}
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * 특정 텍스트 파일을 메모리에 매핑하여 문자로 디코딩하지 않고 바이트 단위로 한 줄씩 훑는다. 
+	 * 여러 번 반복해서 검색하는 대용량 파일에 적합하다. 
+	 * 이 메서드를 사용하기 전 반드시 {@link #setPathForRead(String)} 
+	 * 메서드를 이용하여 해당 텍스트 파일 경로를 지정해둬야 한다.
+	 * 
+	 * @param visitor - 각 줄마다 호출될 콜백. false를 반환하면 읽기를 멈춘다.
+	 * @return
+	 * <ul>
+	 * <li> 
+	 *     true : 읽기 작업이 성공한 경우. (visitor가 도중에 멈춘 경우도 포함)
+	 * </li>
+	 * <li>
+	 * 	   false : 파일을 찾지 못했거나 읽는 도중 예외가 발생한 경우.
+	 * </li>
+	 * </ul>
+	 * @see MappedLineReader
+	 */
+	public boolean scanLines(ByteLineVisitor visitor) {
+		try (MappedLineReader reader = new MappedLineReader(pathForRead)) {
+			reader.forEachLine(visitor);
+		} catch (IOException exp) {
+			if (exp instanceof NoSuchFileException) {
+				handleFileNotFound(false);
+			} else {
+				handleIOException(exp);
+			}
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * 특정 텍스트 파일을 줄 경계에 맞춘 구간들로 나누어 여러 스레드에서 처리하고, 
+	 * 구간별 결과를 합쳐 반환한다. 
+	 * 이 메서드를 사용하기 전 반드시 {@link #setPathForRead(String)} 
+	 * 메서드를 이용하여 해당 텍스트 파일 경로를 지정해둬야 한다.
+	 * 
+	 * @param <A> 누적 객체의 타입.
+	 * @param supplier - 구간마다 새 누적 객체를 만드는 함수.
+	 * @param lineHandler - 한 줄을 누적 객체에 반영하는 함수. 
+	 * 전달된 줄은 재사용되므로 보관하려면 toString()으로 복사해야 한다.
+	 * @param combiner - 앞 구간의 누적 객체와 뒤 구간의 누적 객체를 합치는 함수.
+	 * @return 모든 누적 객체를 합친 결과. 파일을 찾지 못했거나 읽는 도중 예외가 발생한 경우 null을 반환.
+	 * @see ParallelFileProcessor
+	 */
+	public <A> A processLinesParallel(Supplier<A> supplier, 
+			BiConsumer<A, ? super CharSequence> lineHandler, BinaryOperator<A> combiner) {
+		try {
+			return ParallelFileProcessor.process(pathForRead, charset, 
+					supplier, lineHandler, combiner);
+		} catch (IOException exp) {
+			if (exp instanceof NoSuchFileException) {
+				handleFileNotFound(false);
 			} else {
 				handleIOException(exp);
 			}
-			
 			return null;
 		}
-		return strBuilder.toString();
+	}
+	
+	/**
+	 * {@link #setPathForRead(String)}로 지정한 파일에 새로 추가되는 줄만 읽어오는 
+	 * {@link TextFileTailer}를 반환한다. 파일 전체를 반복해서 읽는 대신 사용한다. 
+	 * 반환된 객체의 start() 메서드를 호출해야 확인을 시작하며, 다 쓴 후 반드시 닫아야 한다.
+	 * 
+	 * @param lineHandler - 새 줄마다 호출될 콜백.
+	 * @return TextFileTailer
+	 */
+	public TextFileTailer openTailer(Consumer<? super String> lineHandler) {
+		return new TextFileTailer(pathForRead, charset, lineHandler);
+	}
+	
+	/**
+	 * reader의 내용을 줄 단위로 나누어 visitor에 전달한다. 
+	 * 줄이 버퍼보다 길면 버퍼를 두 배로 늘린다.
+	 */
+	static void readLines(Reader reader, LineVisitor visitor) throws IOException {
+		char[] buf = new char[LINE_BUFFER_SIZE];
+		LineBuffer line = new LineBuffer();
+		long lineNumber = 0;
+		int filled = 0;
+		int lineStart = 0;
+		int scan = 0;
+		boolean skipLF = false;
+		
+		while (true) {
+			int read = reader.read(buf, filled, buf.length - filled);
+			if (read < 0) {
+				break;
+			}
+			filled += read;
+			
+			for (; scan < filled; scan++) {
+				char c = buf[scan];
+				if (skipLF) {
+					skipLF = false;
+					if (c == '\n') {
+						lineStart = scan + 1;
+						continue;
+					}
+				}
+				if (c == '\n' || c == '\r') {
+					line.set(buf, lineStart, scan - lineStart);
+					if (!visitor.visit(line, ++lineNumber)) {
+						return;
+					}
+					skipLF = c == '\r';
+					lineStart = scan + 1;
+				}
+			}
+			
+			// 아직 끝나지 않은 줄을 버퍼 앞으로 옮기고, 버퍼가 가득 찼다면 늘린다.
+			int pending = filled - lineStart;
+			if (lineStart > 0) {
+				System.arraycopy(buf, lineStart, buf, 0, pending);
+			} else if (pending == buf.length) {
+				char[] larger = new char[buf.length * 2];
+				System.arraycopy(buf, 0, larger, 0, pending);
+				buf = larger;
+			}
+			filled = pending;
+			scan = pending;
+			lineStart = 0;
+		}
+		
+		if (filled > lineStart) {
+			line.set(buf, lineStart, filled - lineStart);
+			visitor.visit(line, ++lineNumber);
+		}
+	}
+	
+	/**
+	 * 지정된 문자 인코딩과 압축 형식으로 path의 파일을 읽는 Reader를 연다.
+	 */
+	private Reader openReader(String path) throws IOException {
+		if (compression == Compression.NONE) {
+			return new FileReader(path, charset);
+		}
+		FileInputStream in = new FileInputStream(path);
+		try {
+			return new InputStreamReader(compression.wrap(in, compressionBufferSize), charset);
+		} catch (IOException | RuntimeException exp) {
+			in.close();
+			throw exp;
+		}
+	}
+	
+	/**
+	 * 지정된 문자 인코딩과 압축 형식으로 pathForWrite의 파일에 쓰는 Writer를 연다.
+	 */
+	private Writer openWriter(boolean append) throws IOException {
+		if (compression == Compression.NONE) {
+			return new FileWriter(pathForWrite, charset, append);
+		}
+		if (append && compression == Compression.DEFLATE && new File(pathForWrite).length() > 0) {
+			throw new IOException("DEFLATE 압축 파일에는 이어쓸 수 없습니다: " + pathForWrite);
+		}
+		FileOutputStream out = new FileOutputStream(pathForWrite, append);
+		try {
+			return new OutputStreamWriter(compression.wrap(out, compressionLevel, compressionBufferSize), charset);
+		} catch (IOException | RuntimeException exp) {
+			out.close();
+			throw exp;
+		}
+	}
+	
+	/**
+	 * 지정된 문자 인코딩과 압축 형식으로 text를 파일에 쓸 바이트로 만든다.
+	 */
+	private byte[] encodeForWrite(String text) throws IOException {
+		if (compression == Compression.NONE) {
+			return text.getBytes(charset);
+		}
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (Writer writer = new OutputStreamWriter(
+				compression.wrap(buffer, compressionLevel, compressionBufferSize), charset)) {
+			writer.write(text);
+		}
+		return buffer.toByteArray();
+	}
+	
+	/**
+	 * 기존 파일의 권한을 임시 파일에 옮긴다. 
+	 * 임시 파일은 소유자만 읽을 수 있게 만들어지므로, 교체 후에도 원래 권한을 유지하기 위함.
+	 */
+	private static void copyPermissions(Path from, Path to) {
+		try {
+			Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+		} catch (IOException | UnsupportedOperationException exp) {
+			// 기존 파일이 없거나 POSIX 권한을 지원하지 않는 파일 시스템이면 그대로 둔다.
+		}
+	}
+	
+	/**
+	 * 디렉터리 항목의 변경(파일 교체)을 디스크에 동기화한다. 
+	 * 디렉터리를 열 수 없는 운영체제(Windows 등)에서는 아무 일도 하지 않는다.
+	 */
+	private static void forceDirectory(Path dir) {
+		try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException exp) {
+			// 지원하지 않는 환경이면 무시한다.
+		}
+	}
+	
+	private void handleFileNotFound(boolean createFileIfNotExists) {
+		ConsoleSink.println("해당 경로에서 파일을 읽어올 수 없었습니다.");
+		ConsoleSink.println("설정 경로: " + pathForRead);
+		if (createFileIfNotExists) {
+			ConsoleSink.println("해당 경로에 새 파일을 생성하였습니다.");
+			createEmptyFile(pathForRead);
+		}
 	}
 	
 	private void handleIOException(IOException exp) {
-		System.out.println("파일 입출력 관련 에러 발생");
+		ConsoleSink.println("파일 입출력 관련 에러 발생");
+		// 스택 트레이스는 표준 에러로 곧바로 출력되므로 안내 문구가 먼저 나오도록 기다린다.
+		ConsoleSink.flush();
 		exp.printStackTrace();
 	}
 	
@@ -168,4 +777,23 @@ public class TextFileIO {
 		return created;
 	}
 	
+	/**
+	 * 한 스레드가 {@link #decodeText(FileChannel, StringBuilder)}에서 재사용하는 버퍼와 디코더. 
+	 * 문자 인코딩이 바뀌면 디코더를 다시 만든다.
+	 */
+	private static final class DecodeState {
+		private final ByteBuffer bytes = ByteBuffer.allocate(LINE_BUFFER_SIZE);
+		private final CharBuffer chars = CharBuffer.allocate(LINE_BUFFER_SIZE);
+		private CharsetDecoder decoder = null;
+		
+		CharsetDecoder decoder(Charset charset) {
+			if (decoder == null || !decoder.charset().equals(charset)) {
+				decoder = charset.newDecoder()
+						.onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			}
+			return decoder;
+		}
+	}
+	
 }
@@ -0,0 +1,478 @@
+package jeca.fileio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 계속 내용이 추가되는 텍스트 파일(로그 파일 등)에서 새로 추가된 줄만 읽어오는 클래스. 
+ * (tail -F와 비슷한 기능)
+ * 
+ * <p>
+ * 마지막으로 읽은 위치를 기억하고 그 뒤에 추가된 바이트만 읽으므로 
+ * 파일 크기와 상관없이 한 번 확인하는 비용은 새로 추가된 양에만 비례한다. 
+ * 줄바꿈 문자("\n")가 아직 쓰이지 않은 마지막 줄은 줄바꿈 문자가 추가될 때까지 보류한다. 
+ * 줄 끝의 "\r"은 제거된다.
+ * </p>
+ * 
+ * <p>
+ * 파일 크기가 읽은 위치보다 작아지면(잘림) 처음부터 다시 읽는다. 
+ * 같은 경로에 다른 파일이 생기면(로그 회전) 이전 파일의 남은 내용을 마저 읽은 뒤 
+ * 새 파일을 처음부터 읽는다. 
+ * </p>
+ * 
+ * <p>
+ * {@link #start()}를 호출하면 데몬 스레드가 파일을 확인한다. 
+ * 새 줄이 있으면 곧바로 다시 확인하고, 없으면 확인 간격을 최대 간격까지 두 배씩 늘린다. 
+ * 또한 WatchService로 파일 변경 알림을 받으면 간격을 기다리지 않고 바로 확인하므로 
+ * 새 줄이 전달되기까지의 지연은 최대 간격을 넘지 않는다. 
+ * 스레드 없이 {@link #pollOnce()}를 직접 호출해도 된다.
+ * </p>
+ * 
+ * <p>
+ * 새 줄은 생성자로 전달한 콜백과 {@link #publisher()}를 구독한 구독자들에게 전달된다.
+ * </p>
+ * 
+ * <br>
+ * 사용 예시)
+ * <br>
+ * <pre>
+ * <code>
+ * TextFileTailer tailer = new TextFileTailer("app.log", StandardCharsets.UTF_8, 
+ *         line -&gt; System.out.println("새 줄: " + line));
+ * tailer.setStartFromEnd(true);
+ * tailer.start();
+ * ...
+ * tailer.close();
+ * </code>
+ * </pre>
+ * 
+ * <div>
+ * 제작자 정보
+ * <ul>
+ * <li>
+ * <a href="https://github.com/JeroCaller">Author's Github</a>
+ * </li>
+ * <li>
+ * <a href="https://jerocaller.github.io">Author's blog</a>
+ * </li>
+ * </div>
+ * 
+ * @author JeroCaller
+ */
+public class TextFileTailer implements AutoCloseable {
+	/**
+	 * 기본 최소 확인 간격. (밀리초)
+	 */
+	public static final long DEFAULT_MIN_POLL_MILLIS = 10;
+	
+	/**
+	 * 기본 최대 확인 간격. (밀리초)
+	 */
+	public static final long DEFAULT_MAX_POLL_MILLIS = 1000;
+	
+	/**
+	 * 구독자의 버퍼에 자리가 나기를 기다리는 최대 시간. (밀리초) 
+	 * 이 시간이 지나도 자리가 나지 않으면 해당 구독자에게는 그 줄을 전달하지 않는다.
+	 */
+	public static final long PUBLISH_TIMEOUT_MILLIS = 1000;
+	
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+	
+	private final Path path;
+	private final Consumer<? super String> lineHandler;
+	private final SubmissionPublisher<String> publisher = new SubmissionPublisher<>();
+	private final LongAdder dropped = new LongAdder();
+	
+	// 읽은 줄은 tailer의 잠금 안에서 ready에 모았다가, 잠금을 놓은 뒤 deliveryLock 안에서 전달한다.
+	// 따라서 느린 콜백이나 구독자가 getOffset(), close() 등을 막지 않으며 줄의 순서는 유지된다.
+	// 한 번에 읽기 버퍼 하나만큼만 모아 전달하므로, 큰 파일을 처음 읽을 때도 메모리에 쌓이는 줄은 많지 않다.
+	private final Object deliveryLock = new Object();
+	private final ArrayList<String> ready = new ArrayList<>();
+	
+	private final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+	private final CharBuffer out = CharBuffer.allocate(READ_BUFFER_SIZE);
+	private final CharsetDecoder decoder;
+	private final StringBuilder partial = new StringBuilder();
+	
+	private FileChannel channel = null;
+	private Object fileKey = null;
+	private long offset = 0;
+	private boolean startFromEnd = false;
+	private boolean opened = false;
+	
+	private volatile long minPollMillis = DEFAULT_MIN_POLL_MILLIS;
+	private volatile long maxPollMillis = DEFAULT_MAX_POLL_MILLIS;
+	private volatile boolean running = false;
+	private volatile boolean closed = false;
+	private volatile IOException lastException = null;
+	private Thread worker = null;
+	
+	/**
+	 * 새 줄을 {@link #publisher()}의 구독자에게만 전달하는 객체를 만든다.
+	 * @param path - 읽을 파일 경로. 아직 존재하지 않아도 된다.
+	 * @param charset - 파일의 문자 인코딩.
+	 */
+	public TextFileTailer(String path, Charset charset) {
+		this(path, charset, null);
+	}
+	
+	/**
+	 * @param path - 읽을 파일 경로. 아직 존재하지 않아도 된다.
+	 * @param charset - 파일의 문자 인코딩.
+	 * @param lineHandler - 새 줄마다 호출될 콜백. null이면 {@link #publisher()}의 구독자에게만 전달한다.
+	 */
+	public TextFileTailer(String path, Charset charset, Consumer<? super String> lineHandler) {
+		this.path = Paths.get(path).toAbsolutePath();
+		this.lineHandler = lineHandler;
+		decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+	
+	/**
+	 * 처음 파일을 열 때 기존 내용을 건너뛰고 끝에서부터 읽을지 지정. 기본값은 false. 
+	 * 처음 읽기 전에 호출해야 효과가 있다. 
+	 * 회전 등으로 새로 생긴 파일은 이 설정과 상관없이 처음부터 읽는다.
+	 * @param startFromEnd - true이면 끝에서부터 읽는다.
+	 */
+	public synchronized void setStartFromEnd(boolean startFromEnd) {
+		this.startFromEnd = startFromEnd;
+	}
+	
+	/**
+	 * {@link #start()}로 시작한 스레드의 확인 간격을 지정. 
+	 * @param minMillis - 새 줄이 있을 때의 확인 간격. 1 이상.
+	 * @param maxMillis - 새 줄이 없을 때 늘어날 수 있는 최대 확인 간격. minMillis 이상.
+	 */
+	public void setPollIntervalMillis(long minMillis, long maxMillis) {
+		if (minMillis < 1 || maxMillis < minMillis) {
+			throw new IllegalArgumentException(
+					"잘못된 확인 간격: min=" + minMillis + ", max=" + maxMillis);
+		}
+		minPollMillis = minMillis;
+		maxPollMillis = maxMillis;
+	}
+	
+	/**
+	 * 새 줄을 받을 구독자를 등록할 수 있는 Publisher를 반환. 
+	 * 구독자의 버퍼가 가득 차면 확인 스레드가 기다리므로 파일을 읽는 속도가 구독자의 처리 속도에 맞춰진다. 
+	 * 다만 {@link #PUBLISH_TIMEOUT_MILLIS} 동안 자리가 나지 않으면 그 구독자에게는 해당 줄을 버리므로 
+	 * 요청을 멈춘 구독자가 확인 스레드와 {@link #close()}를 붙잡지 않는다.
+	 * @return Flow.Publisher
+	 */
+	public Flow.Publisher<String> publisher() {
+		return publisher;
+	}
+	
+	/**
+	 * 확인 스레드에서 마지막으로 발생한 입출력 예외를 반환.
+	 * @return IOException. 없었으면 null.
+	 */
+	public IOException getLastException() {
+		return lastException;
+	}
+	
+	/**
+	 * 지금까지 읽은 파일 위치(바이트)를 반환.
+	 * @return long
+	 */
+	public synchronized long getOffset() {
+		return offset;
+	}
+	
+	/**
+	 * 구독자가 {@link #PUBLISH_TIMEOUT_MILLIS} 안에 받지 못해 버려진 줄의 수를 반환. 
+	 * (구독자 한 명에게 버려질 때마다 1씩 센다)
+	 * @return long
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+	
+	/**
+	 * 데몬 스레드를 시작하여 파일을 계속 확인한다. 이미 시작했으면 아무 일도 하지 않는다.
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		worker = new Thread(this::runLoop, "TextFileTailer-" + path.getFileName());
+		worker.setDaemon(true);
+		worker.start();
+	}
+	
+	/**
+	 * 파일을 한 번 확인하여 새로 추가된 줄을 모두 전달한다. 
+	 * 
+	 * @return 전달한 줄의 수. 파일이 아직 없으면 0.
+	 * @throws IOException 파일을 읽는 도중 예외가 발생한 경우.
+	 */
+	public int pollOnce() throws IOException {
+		synchronized (deliveryLock) {
+			int delivered = 0;
+			boolean more = true;
+			while (more && !closed) {
+				try {
+					synchronized (this) {
+						more = readNewLines();
+					}
+				} finally {
+					// 예외가 발생했더라도 이미 읽은 줄은 전달한다.
+					delivered += publishReady();
+				}
+			}
+			return delivered;
+		}
+	}
+	
+	/**
+	 * 새로 추가된 내용을 최대 읽기 버퍼 하나만큼 읽어 완성된 줄을 ready에 모은다. 
+	 * tailer의 잠금 안에서 호출해야 한다.
+	 * @return 내용을 읽었으면 true. 뒤에 읽을 내용이 더 남아 있을 수 있다.
+	 */
+	private boolean readNewLines() throws IOException {
+		ready.clear();
+		BasicFileAttributes attrs;
+		try {
+			attrs = Files.readAttributes(path, BasicFileAttributes.class);
+		} catch (NoSuchFileException exp) {
+			// 회전 도중이면 새 파일이 생길 때까지 이전 파일의 남은 내용만 읽는다.
+			return channel != null && readAvailable();
+		}
+		
+		Object key = attrs.fileKey();
+		if (channel != null && key != null && !key.equals(fileKey)) {
+			// 이전 파일을 끝까지 읽은 뒤에 새 파일로 넘어간다.
+			if (readAvailable()) {
+				return true;
+			}
+			flushPartial();
+			closeChannel();
+		}
+		
+		if (channel == null) {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+			fileKey = key;
+			offset = !opened && startFromEnd ? channel.size() : 0;
+			opened = true;
+			resetDecoding();
+		} else if (channel.size() < offset) {
+			// 파일이 잘렸으므로 처음부터 다시 읽는다.
+			offset = 0;
+			resetDecoding();
+		}
+		return readAvailable();
+	}
+	
+	/**
+	 * 확인 스레드를 멈추고 파일과 Publisher를 닫는다. 
+	 * 줄바꿈 문자 없이 끝난 마지막 줄은 전달하지 않는다. 
+	 * 확인 스레드가 요청을 멈춘 구독자를 기다리던 중이면 최대 {@link #PUBLISH_TIMEOUT_MILLIS}만큼 기다린다.
+	 */
+	@Override
+	public void close() {
+		Thread thread;
+		synchronized (this) {
+			running = false;
+			thread = worker;
+		}
+		// 확인 스레드가 더 이상 구독자를 기다리지 않도록 먼저 표시하고 Publisher를 닫는다. 
+		// Publisher.close()는 진행 중인 offer()가 끝나야 돌아오므로 최대 한 번의 전달 시간만큼 기다린다.
+		closed = true;
+		publisher.close();
+		if (thread != null) {
+			thread.interrupt();
+			try {
+				thread.join();
+			} catch (InterruptedException exp) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		synchronized (this) {
+			closeChannel();
+		}
+	}
+	
+	private void runLoop() {
+		WatchService watcher = null;
+		try {
+			watcher = path.getFileSystem().newWatchService();
+			path.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, 
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException | UnsupportedOperationException exp) {
+			// 알림 없이 주기적인 확인만 한다.
+			closeQuietly(watcher);
+			watcher = null;
+		}
+		
+		long interval = minPollMillis;
+		try {
+			while (running) {
+				int delivered = 0;
+				try {
+					delivered = pollOnce();
+				} catch (IOException exp) {
+					lastException = exp;
+				}
+				interval = delivered > 0 ? minPollMillis : Math.min(maxPollMillis, interval * 2);
+				
+				if (watcher == null) {
+					Thread.sleep(interval);
+					continue;
+				}
+				WatchKey key = watcher.poll(interval, TimeUnit.MILLISECONDS);
+				if (key != null) {
+					key.pollEvents();
+					key.reset();
+					interval = minPollMillis;
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException exp) {
+			// close()에 의해 종료됨.
+		} finally {
+			closeQuietly(watcher);
+		}
+	}
+	
+	/**
+	 * 현재 채널의 offset 이후 내용을 최대 읽기 버퍼 하나만큼 읽어 완성된 줄을 ready에 모은다.
+	 * @return 내용을 읽었으면 true.
+	 */
+	private boolean readAvailable() throws IOException {
+		int read = channel.read(in, offset);
+		if (read <= 0) {
+			return false;
+		}
+		offset += read;
+		in.flip();
+		CoderResult result;
+		do {
+			result = decoder.decode(in, out, false);
+			emitLines();
+		} while (result.isOverflow());
+		in.compact();
+		return true;
+	}
+	
+	/**
+	 * out에 디코딩된 문자에서 완성된 줄을 ready에 모으고, 남은 문자는 partial에 보관한다.
+	 */
+	private void emitLines() {
+		out.flip();
+		char[] chars = out.array();
+		int end = out.limit();
+		int runStart = 0;
+		
+		for (int i = 0; i < end; i++) {
+			if (chars[i] != '\n') {
+				continue;
+			}
+			partial.append(chars, runStart, i - runStart);
+			int length = partial.length();
+			if (length > 0 && partial.charAt(length - 1) == '\r') {
+				partial.setLength(length - 1);
+			}
+			ready.add(partial.toString());
+			partial.setLength(0);
+			runStart = i + 1;
+		}
+		partial.append(chars, runStart, end - runStart);
+		out.clear();
+	}
+	
+	/**
+	 * ready에 모인 줄을 콜백과 구독자에게 전달하고 비운다. 
+	 * tailer의 잠금을 잡지 않은 채 deliveryLock 안에서 호출한다.
+	 * @return 전달한 줄의 수.
+	 */
+	private int publishReady() {
+		for (String line : ready) {
+			if (lineHandler != null) {
+				lineHandler.accept(line);
+			}
+			if (closed || !publisher.hasSubscribers()) {
+				continue;
+			}
+			try {
+				int lag = publisher.offer(line, PUBLISH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS, null);
+				if (lag < 0) {
+					dropped.add(-lag);
+				}
+			} catch (IllegalStateException exp) {
+				// close()로 Publisher가 닫힘.
+			}
+		}
+		int count = ready.size();
+		ready.clear();
+		return count;
+	}
+	
+	/**
+	 * 회전으로 더 이상 내용이 추가되지 않을 이전 파일의 마지막 줄을 ready에 모은다.
+	 */
+	private void flushPartial() {
+		in.flip();
+		decoder.decode(in, out, true);
+		decoder.flush(out);
+		emitLines();
+		if (partial.length() > 0) {
+			ready.add(partial.toString());
+		}
+		resetDecoding();
+	}
+	
+	private void resetDecoding() {
+		in.clear();
+		out.clear();
+		decoder.reset();
+		partial.setLength(0);
+	}
+	
+	private void closeChannel() {
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.close();
+		} catch (IOException exp) {
+			lastException = exp;
+		}
+		channel = null;
+		fileKey = null;
+	}
+	
+	private static void closeQuietly(WatchService watcher) {
+		if (watcher == null) {
+			return;
+		}
+		try {
+			watcher.close();
+		} catch (IOException exp) {
+			// 닫기 실패는 무시한다.
+		}
+	}
+	
+}